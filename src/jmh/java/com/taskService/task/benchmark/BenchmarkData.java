@@ -0,0 +1,94 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.TaskApplication;
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.service.TaskDatabaseHelper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class builds the tasks, requests and application contexts shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private BenchmarkData() {
+        // Prevent instantiation
+    }
+
+    static TaskEntity entity(long id) {
+        return TaskEntity.builder()
+                .id(id)
+                .title("Task " + id)
+                .description(description(id))
+                .dueDate(BASE_DATE.plusDays(id % 365))
+                .version(0L)
+                .build();
+    }
+
+    static List<TaskEntity> entities(int count) {
+        List<TaskEntity> entities = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            entities.add(entity(id));
+        }
+        return entities;
+    }
+
+    static TaskRequest request(long seed) {
+        return TaskRequest.builder()
+                .title("Task " + seed)
+                .description(description(seed))
+                .dueDate(BASE_DATE.plusDays(seed % 365))
+                .build();
+    }
+
+    /**
+     * Starts the application without a web server against a fresh in-memory H2 database.
+     */
+    static ConfigurableApplicationContext startApplication(String... extraProperties) {
+        return application(WebApplicationType.NONE, extraProperties).run();
+    }
+
+    /**
+     * Builds the application against a fresh in-memory H2 database, ready to be customised and run.
+     */
+    static SpringApplicationBuilder application(WebApplicationType webApplicationType, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.open-in-view=false"));
+        properties.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(TaskApplication.class)
+                .web(webApplicationType)
+                .properties(properties.toArray(String[]::new));
+    }
+
+    /**
+     * Inserts {@code rows} tasks through the batched insert path.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) throws TaskSaveException {
+        TaskDatabaseHelper helper = context.getBean(TaskDatabaseHelper.class);
+        for (int start = 0; start < rows; start += SEED_BATCH_SIZE) {
+            int size = Math.min(SEED_BATCH_SIZE, rows - start);
+            List<TaskEntity> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(entity(start + i + 1L).toBuilder().id(null).version(null).build());
+            }
+            helper.saveTasks(batch);
+        }
+    }
+
+    private static String description(long seed) {
+        return "Description of task " + seed + " with enough text to resemble a real task description.";
+    }
+}
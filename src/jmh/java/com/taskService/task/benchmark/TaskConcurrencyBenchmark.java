@@ -0,0 +1,143 @@
+package com.taskService.task.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of concurrent {@code GET /tasks} requests against the running web server, on platform
+ * threads (Tomcat's default pool of {@value #TOMCAT_MAX_THREADS}) and on virtual threads.
+ *
+ * <p>Each invocation sends {@code concurrency} requests at once and waits for all of them. Every
+ * connection checkout is held for {@code dbLatencyMs} to stand in for the JDBC round trip of a remote
+ * database, so a wave takes roughly {@code dbLatencyMs * ceil(concurrency / limit)}, where the limit is
+ * the Tomcat thread count on platform threads and the connection pool size on virtual threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TaskConcurrencyBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"100", "400", "1600"})
+    private int concurrency;
+
+    @Param({"400"})
+    private int poolSize;
+
+    @Param({"20"})
+    private int dbLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkData.application(WebApplicationType.SERVLET,
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "server.tomcat.max-connections=10000",
+                        "server.tomcat.accept-count=" + concurrency,
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "spring.datasource.hikari.minimum-idle=" + poolSize)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new DatabaseLatency(dbLatencyMs)))
+                .run();
+        BenchmarkData.seed(context, 1000);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clients)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?limit=10")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clients.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentRequests() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+        int ok = 0;
+        for (Future<Integer> response : responses) {
+            if (response.get() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " of " + concurrency + " requests failed");
+        }
+        return ok;
+    }
+
+    /**
+     * Holds every connection checked out of the pool for a fixed time, like a remote database round trip.
+     */
+    private record DatabaseLatency(int latencyMs) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    try {
+                        Thread.sleep(latencyMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return connection;
+                }
+            };
+        }
+    }
+}
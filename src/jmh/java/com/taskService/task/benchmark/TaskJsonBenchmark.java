@@ -0,0 +1,67 @@
+package com.taskService.task.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.service.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encode and decode throughput of the task DTOs, using an ObjectMapper configured the way Spring Boot does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TaskRequest request;
+    private TaskResponse response;
+    private byte[] requestJson;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = BenchmarkData.request(1L);
+        response = new TaskMapper().toResponse(BenchmarkData.entity(1L));
+        requestJson = objectMapper.writeValueAsBytes(request);
+        responseJson = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public TaskRequest decodeRequest() throws IOException {
+        return objectMapper.readValue(requestJson, TaskRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TaskResponse decodeResponse() throws IOException {
+        return objectMapper.readValue(responseJson, TaskResponse.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskService.task.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.service.TaskMapper;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of logging on the {@code GET /tasks} mapping path: the previous per-item INFO logging, which
+ * formatted every entity, against the current {@link TaskMapper}, whose per-item logs are at TRACE.
+ * Events are JSON-encoded to a discarding stream, either synchronously or through an
+ * {@link AsyncAppender} configured as in {@code logback-spring.xml}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskLoggingBenchmark {
+
+    @Param({"SYNC", "ASYNC"})
+    private String appender;
+
+    @Param({"INFO", "TRACE"})
+    private String level;
+
+    @Param({"1000"})
+    private int listSize;
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(TaskMapper.class);
+    private Appender<ILoggingEvent> target;
+    private List<TaskEntity> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+        target = output;
+
+        if ("ASYNC".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(output);
+            async.start();
+            target = async;
+        }
+
+        logger.setAdditive(false);
+        logger.setLevel(ch.qos.logback.classic.Level.toLevel(level));
+        logger.addAppender(target);
+        entities = BenchmarkData.entities(listSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logger.detachAppender(target);
+        target.stop();
+        logger.setLevel(null);
+        logger.setAdditive(true);
+    }
+
+    @Benchmark
+    public List<TaskResponse> perItemInfoLogging() {
+        logger.info("Mapping list of Task entities to list of TaskResponses. Count: {}", entities.size());
+        return entities.stream()
+                .map(task -> {
+                    logger.info("Mapping Task entity to TaskResponse for task id: {}", task.getId());
+                    logger.debug("Mapping Task entity to TaskResponse: {}", task);
+                    return taskMapper.toResponse(task);
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<TaskResponse> currentMapperLogging() {
+        return taskMapper.toResponseList(entities);
+    }
+}
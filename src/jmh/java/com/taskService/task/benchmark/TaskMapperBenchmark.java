@@ -0,0 +1,63 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.service.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TaskMapper} conversions between entities and DTOs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int listSize;
+
+    private TaskMapper taskMapper;
+    private TaskEntity entity;
+    private List<TaskEntity> entities;
+    private TaskRequest request;
+
+    @Setup
+    public void setUp() {
+        taskMapper = new TaskMapper();
+        entity = BenchmarkData.entity(1L);
+        entities = BenchmarkData.entities(listSize);
+        request = BenchmarkData.request(1L);
+    }
+
+    @Benchmark
+    public TaskResponse toResponse() {
+        return taskMapper.toResponse(entity);
+    }
+
+    @Benchmark
+    public List<TaskResponse> toResponseList() {
+        return taskMapper.toResponseList(entities);
+    }
+
+    @Benchmark
+    public TaskEntity toEntity() {
+        return taskMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.repository.TaskRepository;
+import com.taskService.task.service.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing a page of tasks by hydrating managed entities and mapping them, in a read-write and in a
+ * read-only transaction, against selecting straight into {@link TaskResponse}. Run with
+ * {@code -Djmh.options="-prof gc"} to compare {@code gc.alloc.rate.norm}, the bytes allocated per page.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TaskProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final Sort BY_ID = Sort.by("id");
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TaskMapper taskMapper;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() throws TaskSaveException {
+        context = BenchmarkData.startApplication();
+        BenchmarkData.seed(context, ROWS);
+        taskRepository = context.getBean(TaskRepository.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> entitiesReadWrite() {
+        return readWrite.execute(status -> taskMapper.toResponseList(page()));
+    }
+
+    @Benchmark
+    public List<TaskResponse> entitiesReadOnly() {
+        return readOnly.execute(status -> taskMapper.toResponseList(page()));
+    }
+
+    @Benchmark
+    public List<TaskResponse> projection() {
+        return taskRepository.findResponses(null, BY_ID, pageSize);
+    }
+
+    private List<TaskEntity> page() {
+        return taskRepository.findBy(Specification.<TaskEntity>where(null), q -> q.sortBy(BY_ID).limit(pageSize).all());
+    }
+}
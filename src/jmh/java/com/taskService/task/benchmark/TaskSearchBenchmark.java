@@ -0,0 +1,86 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.search.TaskSearchIndex;
+import com.taskService.task.search.TaskSearchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of one page of full-text search hits, over an index of synthetic tasks whose words
+ * follow a skewed distribution, so some query words match a large share of the tasks and others only a few.
+ * Sample time mode reports the p99 directly. Only the index is measured; reading the page of tasks by ID
+ * from the database adds one primary key lookup per hit.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+
+    @Param({"100000", "1000000"})
+    private int tasks;
+
+    /**
+     * common: two words each in roughly 10% of tasks; rare: one word in well under 1% of tasks;
+     * phrase: two common words next to each other. The very most frequent words play the part of the
+     * stop words, which real text loses in analysis, and are not queried.
+     */
+    @Param({"common", "rare", "phrase"})
+    private String query;
+
+    private TaskSearchIndex index;
+    private List<String> queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        index = new TaskSearchIndex(new TaskSearchProperties(), new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= tasks; id++) {
+            index.index(id, words(random, 4), words(random, 30));
+        }
+        index.compact();
+        queries = switch (query) {
+            case "common" -> List.of("w20 w30", "w25 w40", "w35 w22", "w45 w28");
+            case "rare" -> List.of("w5001", "w7013", "w9127", "w15077");
+            case "phrase" -> List.of("\"w20 w30\"", "\"w25 w40\"", "\"w35 w22\"", "\"w45 w28\"");
+            default -> throw new IllegalArgumentException(query);
+        };
+    }
+
+    @Benchmark
+    public List<Long> firstPage() throws TaskRetrievalException {
+        return index.search(queries.get(next++ & 3), 0, 20);
+    }
+
+    /** Space separated words, drawn so that word n is roughly n times rarer than the most common word. */
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int word = (int) Math.pow(VOCABULARY, random.nextDouble());
+            text.append(" w").append(word);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link TaskService} calls against embedded H2, seeded with the given number of tasks.
+ * Reads pick random IDs, so small tables are served mostly from the task cache and large ones mostly from H2.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws TaskSaveException {
+        context = BenchmarkData.startApplication();
+        BenchmarkData.seed(context, rows);
+        taskService = context.getBean(TaskService.class);
+        request = BenchmarkData.request(rows + 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse getTaskById() throws TaskRetrievalException {
+        return taskService.getTaskById(ThreadLocalRandom.current().nextLong(1, rows + 1L));
+    }
+
+    @Benchmark
+    public TaskResponse createTask() throws TaskSaveException {
+        return taskService.createTask(request);
+    }
+}
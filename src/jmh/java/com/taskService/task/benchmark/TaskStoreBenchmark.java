@@ -0,0 +1,94 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.store.TaskStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-task reads and overwrites against each storage engine, called on the {@link TaskStore} directly so
+ * the task cache in front of it does not hide the difference. The setup also prints the heap retained by the
+ * stored tasks, measured after a full GC before and after loading them; for the JPA engine that is the
+ * in-memory H2 database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TaskStoreBenchmark {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Param({"jpa", "memory"})
+    private String engine;
+
+    @Param({"1000000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskStore taskStore;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication("task.store.engine=" + engine);
+        taskStore = context.getBean(TaskStore.class);
+        long before = usedHeapAfterGc();
+        for (int start = 0; start < tasks; start += LOAD_BATCH_SIZE) {
+            List<TaskEntity> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            for (int i = 0; i < LOAD_BATCH_SIZE && start + i < tasks; i++) {
+                batch.add(BenchmarkData.entity(start + i + 1L));
+            }
+            taskStore.insertAll(batch);
+        }
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%n%s engine: %,d tasks retain %,d MB of heap, %,d bytes per task%n",
+                engine, tasks, retained >> 20, retained / tasks);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<TaskEntity> get() {
+        return taskStore.findById(random.nextLong(1, tasks + 1L));
+    }
+
+    @Benchmark
+    public OptionalLong put() {
+        long id = random.nextLong(1, tasks + 1L);
+        return taskStore.update(id, BenchmarkData.entity(id), null);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskService.task.benchmark;
+
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.store.MemoryTaskStore;
+import com.taskService.task.store.TaskStoreProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup recovery of the durable in-memory engine: the time to rebuild the store from a snapshot written on
+ * a clean shutdown, and from nothing but the write-ahead log, as after a crash before the first snapshot.
+ * Each invocation opens the same data directory afresh.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TaskStoreRecoveryBenchmark {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Param({"snapshot", "log"})
+    private String source;
+
+    @Param({"1000000"})
+    private int tasks;
+
+    private Path dataDir;
+    private TaskStoreProperties properties;
+    private MemoryTaskStore recovered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("task-store-recovery");
+        properties = new TaskStoreProperties();
+        properties.setEngine(TaskStoreProperties.Engine.MEMORY);
+        properties.setDataDir(dataDir);
+        properties.setSnapshotLogSize(DataSize.ofGigabytes(1));
+        MemoryTaskStore store = new MemoryTaskStore(properties);
+        for (int start = 0; start < tasks; start += LOAD_BATCH_SIZE) {
+            List<TaskEntity> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            for (int i = 0; i < LOAD_BATCH_SIZE && start + i < tasks; i++) {
+                batch.add(BenchmarkData.entity(start + i + 1L));
+            }
+            store.insertAll(batch);
+        }
+        if (source.equals("snapshot")) {
+            store.close();
+        }
+        // otherwise the store is abandoned as if the process had died, leaving only its log behind
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeRecovered() throws IOException {
+        recovered.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public MemoryTaskStore recover() throws IOException {
+        recovered = new MemoryTaskStore(properties);
+        return recovered;
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskService.task.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.task.dto.TaskImportResult;
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.transfer.TaskExporter;
+import com.taskService.task.transfer.TaskImporter;
+import com.taskService.task.transfer.TaskTransferFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk export and import against embedded H2: the time to export {@code rows} seeded tasks, and to import
+ * {@code rows} tasks from an NDJSON or CSV body held in memory, including every index and listener a created
+ * task goes through. Imports add to the same database, so it grows by {@code rows} per invocation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TaskTransferBenchmark {
+
+    @Param({"ndjson", "csv"})
+    private String format;
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskExporter exporter;
+    private TaskImporter importer;
+    private TaskTransferFormat transferFormat;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, TaskSaveException {
+        context = BenchmarkData.startApplication();
+        BenchmarkData.seed(context, rows);
+        exporter = context.getBean(TaskExporter.class);
+        importer = context.getBean(TaskImporter.class);
+        transferFormat = TaskTransferFormat.fromValue(format);
+        body = body(context.getBean(ObjectMapper.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskImportResult importTasks() throws TaskSaveException {
+        return importer.importTasks(transferFormat, new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public void exportTasks() throws IOException, TaskRetrievalException {
+        exporter.export(transferFormat, OutputStream.nullOutputStream());
+    }
+
+    private byte[] body(ObjectMapper objectMapper) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (transferFormat == TaskTransferFormat.CSV) {
+            out.write("title,description,dueDate\n".getBytes(StandardCharsets.UTF_8));
+        }
+        for (long seed = rows + 1L; seed <= 2L * rows; seed++) {
+            TaskRequest request = BenchmarkData.request(seed);
+            String line = transferFormat == TaskTransferFormat.CSV
+                    ? request.getTitle() + ',' + request.getDescription() + ',' + request.getDueDate()
+                    : objectMapper.writeValueAsString(request);
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,122 @@
+package com.taskService.task.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * This is a bounded read-through cache of task entities keyed by ID.
+ * Entries are detached copies, so cached tasks are never tied to a persistence context.
+ * Loads run on the calling thread outside any cache lock, so a miss never pins a virtual thread
+ * to its carrier for the length of a database round trip.
+ */
+@Slf4j
+@Component
+public class TaskCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "tasks";
+
+    private final AsyncCache<Long, Optional<TaskEntity>> cache;
+    private final boolean negativeCaching;
+
+    public TaskCache(TaskCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        this.negativeCaching = properties.isNegativeCaching();
+        log.info("Task cache initialised with maximum size: {}, ttl: {}, negative caching: {}",
+                properties.getMaximumSize(), properties.getTtl(), negativeCaching);
+    }
+
+    /**
+     * Returns the cached task, loading it on a miss. Concurrent misses for the same ID share one load.
+     *
+     * @param id the task ID
+     * @param loader loads the task from the database
+     * @return the task
+     * @throws TaskNotFoundException if the task does not exist
+     */
+    public TaskEntity get(Long id, Function<Long, Optional<TaskEntity>> loader) {
+        CompletableFuture<Optional<TaskEntity>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<TaskEntity>> entry = cache.get(id, (key, executor) -> load);
+        if (entry == load) {
+            try {
+                Optional<TaskEntity> loaded = loader.apply(id).map(TaskCache::copy);
+                // a future completed with null is dropped from the cache
+                load.complete(loaded.isPresent() || negativeCaching ? loaded : null);
+            } catch (RuntimeException e) {
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        Optional<TaskEntity> task = await(entry);
+        if (task == null || task.isEmpty()) {
+            throw new TaskNotFoundException(id);
+        }
+        return task.get();
+    }
+
+    /**
+     * Stores the current state of a task, replacing any cached entry.
+     *
+     * @param task the task as just written to the database
+     */
+    public void put(TaskEntity task) {
+        cache.put(task.getId(), CompletableFuture.completedFuture(Optional.of(copy(task))));
+    }
+
+    /**
+     * Removes a task from the cache.
+     *
+     * @param id the task ID
+     */
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Returns hit, miss and eviction counters of the cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    /**
+     * Publishes the cache size and hit, miss and eviction counters as {@code cache.*} meters.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private static Optional<TaskEntity> await(CompletableFuture<Optional<TaskEntity>> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static TaskEntity copy(TaskEntity task) {
+        return task.toBuilder().build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.taskService.task.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-process task cache, bound from {@code task.cache.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.cache")
+public class TaskCacheProperties {
+
+    /** Maximum number of tasks held in the cache. */
+    private long maximumSize = 10_000;
+
+    /** How long an entry stays cached after it was loaded or written. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** Whether lookups of missing tasks are cached as well. */
+    private boolean negativeCaching = false;
+}
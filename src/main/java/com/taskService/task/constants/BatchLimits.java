@@ -0,0 +1,22 @@
+package com.taskService.task.constants;
+
+/**
+ * This class contains limits for the bulk task endpoints.
+ */
+public final class BatchLimits {
+
+    private BatchLimits() {
+        // Prevent instantiation
+    }
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /** Tasks written per insert batch while importing. */
+    public static final int IMPORT_BATCH_SIZE = 1000;
+
+    /** Longest line, in characters, an import reads; longer lines are rejected without being held in memory. */
+    public static final int MAX_IMPORT_LINE_LENGTH = 8192;
+
+    /** Rejected lines reported in an import result; further ones are only counted. */
+    public static final int MAX_IMPORT_ERRORS = 1000;
+}
@@ -11,7 +11,17 @@ public final class Endpoints {
 
     public static final String BASE = "/tasks";
 
+    public static final String STREAM_TASKS = "/stream";
+    public static final String BATCH = "/batch";
+    public static final String SEARCH_TASKS = "/search";
+    public static final String EVENTS = "/events";
+    public static final String OVERDUE_TASKS = "/overdue";
+    public static final String DUE_TASKS = "/due";
+    public static final String TASK_STATS = "/stats";
+    public static final String EXPORT_TASKS = "/export";
+    public static final String IMPORT_TASKS = "/import";
     public static final String GET_TASK_BY_ID =  "/{id}";
     public static final String UPDATE_TASK = "/{id}";
+    public static final String PATCH_TASK = "/{id}";
     public static final String DELETE_TASK =  "/{id}";
 }
\ No newline at end of file
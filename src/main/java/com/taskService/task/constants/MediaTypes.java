@@ -0,0 +1,19 @@
+package com.taskService.task.constants;
+
+/**
+ * This class contains media types used by the Task API that Spring does not define.
+ */
+public final class MediaTypes {
+
+    private MediaTypes() {
+        // Prevent instantiation
+    }
+
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    /** Jackson's binary JSON format; CBOR is {@link org.springframework.http.MediaType#APPLICATION_CBOR_VALUE}. */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    /** Comma-separated values as in RFC 4180, used for task export and import. */
+    public static final String CSV_VALUE = "text/csv";
+}
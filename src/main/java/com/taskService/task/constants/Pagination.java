@@ -0,0 +1,26 @@
+package com.taskService.task.constants;
+
+/**
+ * This class contains constants for keyset pagination and sorting of task listings,
+ * and for offset pagination of search results.
+ */
+public final class Pagination {
+
+    private Pagination() {
+        // Prevent instantiation
+    }
+
+    public static final String DEFAULT_LIMIT = "100";
+    public static final int MAX_LIMIT = 1000;
+
+    public static final String AFTER_PARAM = "after";
+    public static final String LIMIT_PARAM = "limit";
+
+    public static final String DEFAULT_SORT = "id";
+    public static final String SORT_PATTERN = "^(id|dueDate|title)(,(asc|desc))?$";
+
+    public static final String OFFSET_PARAM = "offset";
+    public static final String DEFAULT_SEARCH_LIMIT = "20";
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_SEARCH_OFFSET = 10_000;
+}
@@ -0,0 +1,79 @@
+package com.taskService.task.controller;
+
+import com.taskService.task.exception.TaskPreconditionFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class maps task versions to HTTP entity tags and evaluates conditional request headers.
+ */
+final class ETags {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the strong entity tag for a task version, or {@code null} if the version is unknown.
+     */
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header against the current entity tag using weak comparison.
+     *
+     * @return true if the client already holds the current representation
+     */
+    static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(WILDCARD) || stripWeak(tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the versions an If-Match header lists. If-Match compares strongly, so weak tags and tags that
+     * are not task versions never match and are skipped.
+     *
+     * @return the listed versions, or an empty list if the header is absent or a wildcard
+     * @throws TaskPreconditionFailedException if the header lists no strong task entity tag
+     */
+    static List<Long> expectedVersions(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return List.of();
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(WILDCARD)) {
+                return List.of();
+            }
+            if (tag.length() >= 3 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.valueOf(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not a task version, so it cannot match
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new TaskPreconditionFailedException(id);
+        }
+        return versions;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
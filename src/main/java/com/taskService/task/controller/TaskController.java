@@ -1,20 +1,44 @@
 package com.taskService.task.controller;
 
+import com.taskService.task.constants.Pagination;
 import com.taskService.task.controller.specification.TaskApi;
+import com.taskService.task.dto.TaskBatchResult;
+import com.taskService.task.dto.TaskBatchUpdateRequest;
+import com.taskService.task.dto.TaskImportResult;
+import com.taskService.task.dto.TaskPatchRequest;
+import com.taskService.task.dto.TaskQuery;
 import com.taskService.task.dto.TaskRequest;
 import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskStatsResponse;
+import com.taskService.task.dto.TaskSortField;
+import com.taskService.task.event.TaskEventStream;
 import com.taskService.task.exception.TaskDeletionException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
 import com.taskService.task.exception.TaskRetrievalException;
 import com.taskService.task.exception.TaskSaveException;
 import com.taskService.task.service.TaskService;
+import com.taskService.task.transfer.TaskExporter;
+import com.taskService.task.transfer.TaskImporter;
+import com.taskService.task.transfer.TaskTransferFormat;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.DisconnectedClientHelper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -27,55 +51,239 @@ import java.util.List;
 @Slf4j
 public class TaskController implements TaskApi {
     private final TaskService taskService;
+    private final TaskEventStream taskEventStream;
+    private final TaskExporter taskExporter;
+    private final TaskImporter taskImporter;
 
     /**
-     * create task and save it to db.
+     * create task and save it to db. Answers 202 instead of 201 when the task is only accepted for write-behind.
      *
      * @return a TaskResponse
      */
     public ResponseEntity<TaskResponse> create(@Valid @RequestBody TaskRequest request) throws TaskSaveException {
-        log.info("Received request to create task###: {}", request);
+        log.trace("Received request to create task: {}", request);
         TaskResponse response = taskService.createTask(request);
+        if (taskService.isWriteBehindEnabled()) {
+            log.info("Task accepted for creation with ID: {}", response.getId());
+            return withETag(ResponseEntity.status(HttpStatus.ACCEPTED), response.getVersion()).body(response);
+        }
         log.info("Task created successfully with ID: {}", response.getId());
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), response.getVersion()).body(response);
     }
 
     /**
-     * Retrieves all tasks.
+     * Retrieves one keyset page of tasks matching the given filters.
      *
-     * @return a list of all tasks
+     * @param after ID of the last task of the previous page, or {@code null} for the first page
+     * @param limit maximum number of tasks to return
+     * @param dueBefore only tasks due before this date, if given
+     * @param dueAfter only tasks due after this date, if given
+     * @param titlePrefix only tasks whose title starts with this prefix, if given
+     * @param sort sort property, optionally followed by ",asc" or ",desc"
+     * @return a page of tasks, with a Link header to the next page when the page is full
      */
-    public List<TaskResponse> getAll() throws TaskRetrievalException {
-        List<TaskResponse> tasks = taskService.getAllTasks();
-        log.info("Total tasks found: {}", tasks.size());
-        return tasks;
+    public ResponseEntity<List<TaskResponse>> getAll(Long after, int limit, LocalDate dueBefore, LocalDate dueAfter,
+                                                     String titlePrefix, String sort) throws TaskRetrievalException {
+        String[] sortParts = sort.split(",");
+        TaskQuery query = TaskQuery.builder()
+                .after(after)
+                .limit(limit)
+                .dueBefore(dueBefore)
+                .dueAfter(dueAfter)
+                .titlePrefix(titlePrefix)
+                .sortBy(TaskSortField.fromProperty(sortParts[0]))
+                .direction(sortParts.length > 1 ? Sort.Direction.fromString(sortParts[1]) : Sort.Direction.ASC)
+                .build();
+        List<TaskResponse> tasks = taskService.getTasks(query);
+        log.debug("Total tasks found: {}", tasks.size());
+        return keysetPage(tasks, limit);
+    }
+
+    /**
+     * Retrieves one keyset page of overdue tasks.
+     *
+     * @return overdue tasks, oldest due date first, with a Link header to the next page when the page is full
+     */
+    public ResponseEntity<List<TaskResponse>> getOverdue(Long after, int limit) throws TaskRetrievalException {
+        List<TaskResponse> tasks = taskService.getOverdueTasks(after, limit);
+        log.debug("Overdue tasks found: {}", tasks.size());
+        return keysetPage(tasks, limit);
+    }
+
+    /**
+     * Retrieves one keyset page of the tasks due on a date.
+     *
+     * @return tasks due on the date by ID, with a Link header to the next page when the page is full
+     */
+    public ResponseEntity<List<TaskResponse>> getDue(LocalDate on, Long after, int limit) throws TaskRetrievalException {
+        List<TaskResponse> tasks = taskService.getTasksDueOn(on, after, limit);
+        log.debug("Tasks due on {} found: {}", on, tasks.size());
+        return keysetPage(tasks, limit);
+    }
+
+    /**
+     * Searches tasks by keyword, one offset page at a time.
+     *
+     * @return matching tasks, best match first, with a Link to the next page when the page is full
+     */
+    public ResponseEntity<List<TaskResponse>> search(String q, int offset, int limit) throws TaskRetrievalException {
+        List<TaskResponse> tasks = taskService.searchTasks(q, offset, limit);
+        log.debug("Search found {} tasks", tasks.size());
+        if (tasks.size() < limit || offset + limit > Pagination.MAX_SEARCH_OFFSET) {
+            return ResponseEntity.ok(tasks);
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam(Pagination.OFFSET_PARAM, offset + limit)
+                .replaceQueryParam(Pagination.LIMIT_PARAM, limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(tasks);
+    }
+
+    /**
+     * Opens a stream of task change events, resuming after {@code lastEventId} when given.
+     *
+     * @return the event stream
+     */
+    public SseEmitter events(String lastEventId) {
+        return taskEventStream.subscribe(lastEventId);
+    }
+
+    /**
+     * Retrieves task counts by due date.
+     *
+     * @return the current counts
+     */
+    public ResponseEntity<TaskStatsResponse> getStats() {
+        return ResponseEntity.ok(taskService.getStatistics());
+    }
+
+    /**
+     * Answers a keyset page, with a Link header to the next one when the page is full.
+     */
+    private static ResponseEntity<List<TaskResponse>> keysetPage(List<TaskResponse> tasks, int limit) {
+        if (tasks.size() < limit) {
+            return ResponseEntity.ok(tasks);
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam(Pagination.AFTER_PARAM, tasks.get(tasks.size() - 1).getId())
+                .replaceQueryParam(Pagination.LIMIT_PARAM, limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(tasks);
+    }
+
+    /**
+     * Streams all tasks as newline-delimited JSON, writing each task as soon as it is read.
+     *
+     * @return a streaming response body
+     */
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportBody(TaskTransferFormat.NDJSON));
+    }
+
+    /**
+     * Streams all tasks as a file to download, in the requested format.
+     *
+     * @param format "ndjson" or "csv"
+     * @return a streaming response body
+     */
+    public ResponseEntity<StreamingResponseBody> export(String format) {
+        TaskTransferFormat transferFormat = TaskTransferFormat.fromValue(format);
+        return ResponseEntity.ok()
+                .contentType(transferFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("tasks." + format).build().toString())
+                .body(exportBody(transferFormat));
+    }
+
+    /**
+     * Writes all tasks to the response. A client that disconnects before the end is only logged at DEBUG,
+     * as nothing went wrong on our side.
+     */
+    private StreamingResponseBody exportBody(TaskTransferFormat format) {
+        return outputStream -> {
+            try {
+                taskExporter.export(format, outputStream);
+            } catch (TaskRetrievalException e) {
+                log.error("Exporting tasks as {} failed", format, e);
+                throw new IOException("Failed to export tasks", e);
+            } catch (IOException e) {
+                if (!DisconnectedClientHelper.isClientDisconnectedException(e)) {
+                    throw e;
+                }
+                log.debug("Client disconnected while tasks were exported as {}: {}", format, e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Creates tasks from every valid line of the request body, while it is read.
+     *
+     * @param contentType application/x-ndjson or text/csv
+     * @param body the request body
+     * @return the number of tasks created, and the lines rejected
+     */
+    public ResponseEntity<TaskImportResult> importTasks(MediaType contentType, InputStream body) throws TaskSaveException {
+        TaskImportResult result = taskImporter.importTasks(TaskTransferFormat.fromMediaType(contentType), body);
+        log.info("Imported {} tasks, {} lines rejected", result.getImported(), result.getRejected());
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Retrieves a task by its ID.
      *
      * @param id the ID of the task
-     * @return the task with the given ID
+     * @param ifNoneMatch entity tags the client already holds, if any
+     * @return the task with the given ID, or 304 without a body if the client's copy is current
      */
-    public TaskResponse getById(Long id) throws TaskRetrievalException {
-        log.info("Fetching task with ID: {}", id);
+    public ResponseEntity<TaskResponse> getById(Long id, String ifNoneMatch) throws TaskRetrievalException {
+        log.debug("Fetching task with ID: {}", id);
         TaskResponse task = taskService.getTaskById(id);
-        log.info("Successfully fetch task for id: {}", task.getId());
-        return task;
+        String etag = ETags.of(task.getVersion());
+        if (ETags.matchesNoneMatch(ifNoneMatch, etag)) {
+            log.debug("Task with ID: {} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        log.debug("Successfully fetched task for id: {}", task.getId());
+        return withETag(ResponseEntity.ok(), task.getVersion()).body(task);
     }
 
     /**
      * Updates an existing task by its ID.
      *
      * @param id the ID of the task to update
+     * @param ifMatch entity tag the task must still have, if any
      * @param request the new task data
      * @return the updated task
      */
-    public TaskResponse update(Long id,TaskRequest request) throws TaskSaveException {
-        log.info("Received request to update task for id: {}", id);
-        TaskResponse updatedTask = taskService.updateTask(id, request);
-        log.info("Task updated: {}", updatedTask);
-        return updatedTask;
+    public ResponseEntity<TaskResponse> update(Long id, String ifMatch, TaskRequest request)
+            throws TaskSaveException, TaskRetrievalException {
+        log.debug("Received request to update task for id: {}", id);
+        TaskResponse updatedTask = taskService.updateTask(id, request, expectedVersion(ifMatch, id));
+        log.info("Task updated successfully with ID: {}", id);
+        log.trace("Task updated: {}", updatedTask);
+        return withETag(ResponseEntity.ok(), updatedTask.getVersion()).body(updatedTask);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to an existing task.
+     *
+     * @param id the ID of the task to patch
+     * @param ifMatch entity tag the task must still have, if any
+     * @param request the fields to change
+     * @return the patched task
+     */
+    public ResponseEntity<TaskResponse> patch(Long id, String ifMatch, TaskPatchRequest request)
+            throws TaskSaveException, TaskRetrievalException {
+        log.debug("Received request to patch task for id: {}", id);
+        TaskResponse patchedTask = taskService.patchTask(id, request, expectedVersion(ifMatch, id));
+        log.info("Task patched successfully with ID: {}", id);
+        return withETag(ResponseEntity.ok(), patchedTask.getVersion()).body(patchedTask);
     }
 
     /**
@@ -89,4 +297,58 @@ public class TaskController implements TaskApi {
         log.info("Task deleted successfully with ID: {}", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a batch of tasks in one transaction.
+     *
+     * @param requests the tasks to create
+     * @return one result per task, in request order
+     */
+    public ResponseEntity<List<TaskBatchResult>> createBatch(List<TaskRequest> requests) throws TaskSaveException {
+        log.info("Received request to create batch of {} tasks", requests.size());
+        return ResponseEntity.ok(taskService.createTasks(requests));
+    }
+
+    /**
+     * Updates a batch of tasks in one transaction.
+     *
+     * @param requests task IDs with their updated data
+     * @return one result per task, in request order
+     */
+    public ResponseEntity<List<TaskBatchResult>> updateBatch(List<TaskBatchUpdateRequest> requests) throws TaskSaveException {
+        log.info("Received request to update batch of {} tasks", requests.size());
+        return ResponseEntity.ok(taskService.updateTasks(requests));
+    }
+
+    /**
+     * Deletes a batch of tasks.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return one result per ID, in request order
+     */
+    public ResponseEntity<List<TaskBatchResult>> deleteBatch(List<Long> ids) throws TaskDeletionException {
+        log.info("Received request to delete batch of {} tasks", ids.size());
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
+    }
+
+    /**
+     * Picks the version an If-Match header lets a change go ahead at. When it lists several entity tags, the
+     * task's current version must be one of them; the store still checks that it has not moved on since.
+     */
+    private Long expectedVersion(String ifMatch, Long id) throws TaskRetrievalException {
+        List<Long> versions = ETags.expectedVersions(ifMatch, id);
+        if (versions.size() <= 1) {
+            return versions.isEmpty() ? null : versions.get(0);
+        }
+        Long current = taskService.getTaskById(id).getVersion();
+        if (!versions.contains(current)) {
+            throw new TaskPreconditionFailedException(id);
+        }
+        return current;
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        String etag = ETags.of(version);
+        return etag == null ? builder : builder.eTag(etag);
+    }
+}
@@ -1,19 +1,42 @@
 package com.taskService.task.controller.specification;
 
+import com.taskService.task.constants.BatchLimits;
 import com.taskService.task.constants.Endpoints;
+import com.taskService.task.constants.MediaTypes;
+import com.taskService.task.constants.Pagination;
+import com.taskService.task.dto.TaskBatchResult;
+import com.taskService.task.dto.TaskBatchUpdateRequest;
+import com.taskService.task.dto.TaskImportResult;
+import com.taskService.task.dto.TaskPatchRequest;
 import com.taskService.task.dto.TaskRequest;
 import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskStatsResponse;
 import com.taskService.task.exception.TaskDeletionException;
 import com.taskService.task.exception.TaskRetrievalException;
 import com.taskService.task.exception.TaskSaveException;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @Validated
@@ -23,39 +46,199 @@ public interface TaskApi {
     @Operation(summary = "Create a new task")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Task created successfully"),
+            @ApiResponse(responseCode = "202", description = "Task accepted, to be written shortly (write-behind enabled)"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "500", description = "Internal server error while saving the task")
+            @ApiResponse(responseCode = "500", description = "Internal server error while saving the task"),
+            @ApiResponse(responseCode = "503", description = "Write-behind queue is full, retry after the Retry-After delay")
     })
     @PostMapping
     ResponseEntity<TaskResponse> create(@Valid @RequestBody TaskRequest request) throws TaskSaveException;
 
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "Get a filtered, sorted page of tasks",
+            description = "Keyset pagination: pass the ID of the last task received as 'after' to get the next page. "
+                    + "A Link header with rel=\"next\" is returned while more tasks may follow. "
+                    + "Sort is one of id, dueDate or title, optionally followed by ',asc' or ',desc'; ties are broken by ID. "
+                    + "Send Accept: application/cbor or application/x-jackson-smile for a smaller binary body.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of tasks"),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination, filter or sort parameters"),
+            @ApiResponse(responseCode = "404", description = "Task given as 'after' no longer exists"),
             @ApiResponse(responseCode = "500", description = "Internal server error while retrieving tasks")
     })
-    @GetMapping
-    List<TaskResponse> getAll() throws TaskRetrievalException;
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    ResponseEntity<List<TaskResponse>> getAll(
+            @RequestParam(name = Pagination.AFTER_PARAM, required = false) @Min(0) Long after,
+            @RequestParam(name = Pagination.LIMIT_PARAM, defaultValue = Pagination.DEFAULT_LIMIT)
+            @Min(1) @Max(Pagination.MAX_LIMIT) int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(required = false) @Size(max = 255) String titlePrefix,
+            @RequestParam(defaultValue = Pagination.DEFAULT_SORT) @Pattern(regexp = Pagination.SORT_PATTERN) String sort)
+            throws TaskRetrievalException;
 
-    @Operation(summary = "Get a task by ID")
+    @Operation(summary = "Search tasks by keyword",
+            description = "Full-text search over title and description; every word must match, title matches rank "
+                    + "higher. Supports \"phrases\", prefix*, -excluded words and a | b. Results are best match first; "
+                    + "a Link header with rel=\"next\" is returned while more results may follow.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching tasks, best match first"),
+            @ApiResponse(responseCode = "400", description = "Missing search text or invalid pagination parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while searching tasks")
+    })
+    @GetMapping(value = Endpoints.SEARCH_TASKS,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    ResponseEntity<List<TaskResponse>> search(
+            @RequestParam @NotBlank @Size(max = 500) String q,
+            @RequestParam(name = Pagination.OFFSET_PARAM, defaultValue = "0")
+            @Min(0) @Max(Pagination.MAX_SEARCH_OFFSET) int offset,
+            @RequestParam(name = Pagination.LIMIT_PARAM, defaultValue = Pagination.DEFAULT_SEARCH_LIMIT)
+            @Min(1) @Max(Pagination.MAX_SEARCH_LIMIT) int limit)
+            throws TaskRetrievalException;
+
+    @Operation(summary = "Get a page of overdue tasks",
+            description = "Tasks whose due date has passed, oldest due date first and then by ID, served from an "
+                    + "in-memory due date index. Pass the ID of the last task received as 'after' to get the next page; "
+                    + "a Link header with rel=\"next\" is returned while more tasks may follow.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Overdue tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination parameters"),
+            @ApiResponse(responseCode = "404", description = "Task given as 'after' no longer has a due date"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while retrieving tasks")
+    })
+    @GetMapping(value = Endpoints.OVERDUE_TASKS,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    ResponseEntity<List<TaskResponse>> getOverdue(
+            @RequestParam(name = Pagination.AFTER_PARAM, required = false) @Min(0) Long after,
+            @RequestParam(name = Pagination.LIMIT_PARAM, defaultValue = Pagination.DEFAULT_LIMIT)
+            @Min(1) @Max(Pagination.MAX_LIMIT) int limit)
+            throws TaskRetrievalException;
+
+    @Operation(summary = "Get a page of tasks due on a date",
+            description = "Tasks due on the given date, by ID, served from an in-memory due date index. Pass the ID "
+                    + "of the last task received as 'after' to get the next page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid date, or invalid pagination parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while retrieving tasks")
+    })
+    @GetMapping(value = Endpoints.DUE_TASKS,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    ResponseEntity<List<TaskResponse>> getDue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate on,
+            @RequestParam(name = Pagination.AFTER_PARAM, required = false) @Min(0) Long after,
+            @RequestParam(name = Pagination.LIMIT_PARAM, defaultValue = Pagination.DEFAULT_LIMIT)
+            @Min(1) @Max(Pagination.MAX_LIMIT) int limit)
+            throws TaskRetrievalException;
+
+    @Operation(summary = "Get task counts by due date",
+            description = "Total, overdue, due today, due in the next seven days and without a due date. Served from "
+                    + "counters maintained on every write and periodically reconciled with the database, so the cost "
+                    + "does not depend on the number of tasks.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task counts retrieved successfully")
+    })
+    @GetMapping(value = Endpoints.TASK_STATS,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    ResponseEntity<TaskStatsResponse> getStats();
+
+    @Operation(summary = "Stream all tasks as newline-delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks streamed one JSON object per line"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while retrieving tasks")
+    })
+    @GetMapping(value = Endpoints.STREAM_TASKS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> stream();
+
+    @Operation(summary = "Export all tasks as NDJSON or CSV",
+            description = "Streams every task, ordered by ID, as one JSON object per line or as CSV with a header "
+                    + "line. Tasks are written as they are read from a forward-only cursor, so the export is never "
+                    + "held in memory. The output can be sent back to the import endpoint as it is.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks exported"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while retrieving tasks")
+    })
+    @GetMapping(value = Endpoints.EXPORT_TASKS, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaTypes.CSV_VALUE})
+    ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") @Pattern(regexp = "ndjson|csv") String format);
+
+    @Operation(summary = "Import tasks from NDJSON or CSV",
+            description = "Creates a task, with a new ID, for every line of an application/x-ndjson body or every "
+                    + "record of a text/csv body after its header; the title, description and dueDate columns are "
+                    + "read by name and others are ignored. Lines are validated like a created task, and invalid "
+                    + "ones are skipped and reported by line number. The body is read as it arrives and tasks are "
+                    + "written in batches that each commit on their own. Idempotency keys are not supported, as "
+                    + "the body is not buffered.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished, see the counts and rejected lines"),
+            @ApiResponse(responseCode = "415", description = "Body is neither application/x-ndjson nor text/csv"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while saving tasks; batches "
+                    + "written before it are kept")
+    })
+    @PostMapping(value = Endpoints.IMPORT_TASKS, consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaTypes.CSV_VALUE})
+    ResponseEntity<TaskImportResult> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                 @Parameter(hidden = true) InputStream body) throws TaskSaveException;
+
+    @Operation(summary = "Subscribe to task changes",
+            description = "Server-Sent Events stream with one created, updated or deleted event per committed change. "
+                    + "Reconnect with Last-Event-ID to resume; a reset event means events were missed and the tasks "
+                    + "should be reloaded.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "503", description = "Too many open event streams")
+    })
+    @GetMapping(value = Endpoints.EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId);
+
+    @Operation(summary = "Get a task by ID",
+            description = "The task version is returned as a strong ETag; send it back in If-None-Match to get 304 "
+                    + "while the task is unchanged.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Task not found with the provided ID"),
             @ApiResponse(responseCode = "500", description = "Internal server error while retrieving the task")
     })
-    @GetMapping(Endpoints.GET_TASK_BY_ID)
-    TaskResponse getById(@PathVariable Long id) throws TaskRetrievalException;
+    @GetMapping(value = Endpoints.GET_TASK_BY_ID,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.SMILE_VALUE})
+    ResponseEntity<TaskResponse> getById(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws TaskRetrievalException;
 
 
-    @Operation(summary = "Update a task")
+    @Operation(summary = "Update a task",
+            description = "Send the task's ETag in If-Match to update only if nobody changed it in the meantime; "
+                    + "the new ETag is then returned. With several ETags listed, any one of them may match.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Task not found to update"),
+            @ApiResponse(responseCode = "412", description = "Task was modified since the ETag in If-Match"),
             @ApiResponse(responseCode = "500", description = "Internal server error while updating the task")
     })
     @PutMapping(Endpoints.UPDATE_TASK)
-    TaskResponse update(@PathVariable Long id, @Valid @RequestBody TaskRequest request) throws TaskSaveException;
+    ResponseEntity<TaskResponse> update(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @Valid @RequestBody TaskRequest request)
+            throws TaskSaveException, TaskRetrievalException;
+
+    @Operation(summary = "Partially update a task",
+            description = "JSON Merge Patch (RFC 7396): only the fields present in the body are changed, and only the "
+                    + "changed columns are written. Fields cannot be removed, so null values are rejected. "
+                    + "Send the task's ETag in If-Match to patch only if nobody changed it in the meantime.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Task not found to patch"),
+            @ApiResponse(responseCode = "412", description = "Task was modified since the ETag in If-Match, or concurrently"),
+            @ApiResponse(responseCode = "415", description = "Body is not application/merge-patch+json"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while patching the task")
+    })
+    @PatchMapping(value = Endpoints.PATCH_TASK, consumes = MediaTypes.MERGE_PATCH_JSON_VALUE)
+    ResponseEntity<TaskResponse> patch(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @Valid @RequestBody TaskPatchRequest request)
+            throws TaskSaveException, TaskRetrievalException;
 
     @Operation(summary = "Delete a task")
     @ApiResponses({
@@ -65,4 +248,42 @@ public interface TaskApi {
     })
     @DeleteMapping(Endpoints.DELETE_TASK)
     ResponseEntity<Void> delete(@PathVariable Long id) throws TaskDeletionException;
+
+    @Operation(summary = "Create a batch of tasks",
+            description = "All tasks are saved in one transaction; the result lists one entry per task in request order.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tasks created, see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input in any of the tasks"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while saving the tasks")
+    })
+    @PostMapping(Endpoints.BATCH)
+    ResponseEntity<List<TaskBatchResult>> createBatch(
+            @RequestBody @NotEmpty @Size(max = BatchLimits.MAX_BATCH_SIZE) List<@Valid TaskRequest> requests)
+            throws TaskSaveException;
+
+    @Operation(summary = "Update a batch of tasks",
+            description = "All tasks are updated in one transaction; tasks that do not exist are reported with status 404. "
+                    + "Only the first item for an ID is applied; later ones are reported with status 400.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input in any of the tasks"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while updating the tasks")
+    })
+    @PutMapping(Endpoints.BATCH)
+    ResponseEntity<List<TaskBatchResult>> updateBatch(
+            @RequestBody @NotEmpty @Size(max = BatchLimits.MAX_BATCH_SIZE) List<@Valid TaskBatchUpdateRequest> requests)
+            throws TaskSaveException;
+
+    @Operation(summary = "Delete a batch of tasks",
+            description = "Tasks are deleted with a single statement; IDs that do not exist are reported with status 404, "
+                    + "and repeats of an ID with status 400.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid list of IDs"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while deleting the tasks")
+    })
+    @DeleteMapping(Endpoints.BATCH)
+    ResponseEntity<List<TaskBatchResult>> deleteBatch(
+            @RequestBody @NotEmpty @Size(max = BatchLimits.MAX_BATCH_SIZE) List<@NotNull Long> ids)
+            throws TaskDeletionException;
 }
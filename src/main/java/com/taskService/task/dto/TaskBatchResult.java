@@ -0,0 +1,22 @@
+package com.taskService.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk request, in the same position as the item in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResult {
+    private Long id;
+    private int status;
+    private TaskResponse task;
+    private String error;
+}
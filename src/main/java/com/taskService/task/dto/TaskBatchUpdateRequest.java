@@ -0,0 +1,22 @@
+package com.taskService.task.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchUpdateRequest {
+
+    @NotNull(message = "id is mandatory")
+    private Long id;
+
+    @Valid
+    @NotNull(message = "task is mandatory")
+    private TaskRequest task;
+}
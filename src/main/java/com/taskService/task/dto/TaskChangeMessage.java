@@ -0,0 +1,25 @@
+package com.taskService.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data of one event on the event stream: a task change, where {@code task} is absent when the task was
+ * deleted, or a due or overdue reminder, which carries the {@code dueDate} instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeMessage {
+    private String type;
+    private Long id;
+    private TaskResponse task;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,18 @@
+package com.taskService.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A line of an import that was rejected, numbered from 1, and the reason.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportError {
+    private long line;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.taskService.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a task import: how many lines were imported and rejected, and why the first rejected lines were.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResult {
+    private long imported;
+    private long rejected;
+    private List<TaskImportError> errors;
+}
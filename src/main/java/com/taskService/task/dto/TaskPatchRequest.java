@@ -0,0 +1,36 @@
+package com.taskService.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * JSON Merge Patch (RFC 7396) of a task. Absent fields are left unchanged; since every task field is
+ * mandatory, an explicit {@code null} (which would remove the field) is rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPatchRequest {
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Size(max = 255)
+    @Pattern(regexp = "(?s).*\\S.*", message = "title must not be blank")
+    private String title;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Size(max = 500)
+    @Pattern(regexp = "(?s).*\\S.*", message = "description must not be blank")
+    private String description;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    private LocalDate dueDate;
+}
@@ -0,0 +1,39 @@
+package com.taskService.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+/**
+ * Filters, sort order and keyset position of a task listing. Unset filters match every task.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TaskQuery {
+
+    /** ID of the last task of the previous page, or {@code null} for the first page. */
+    private Long after;
+
+    private int limit;
+
+    /** Only tasks due strictly before this date. */
+    private LocalDate dueBefore;
+
+    /** Only tasks due strictly after this date. */
+    private LocalDate dueAfter;
+
+    /** Only tasks whose title starts with this prefix, case-sensitive. */
+    private String titlePrefix;
+
+    @Builder.Default
+    private TaskSortField sortBy = TaskSortField.ID;
+
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+}
@@ -17,6 +17,7 @@ import java.time.LocalDate;
 @Builder
 public class TaskRequest {
 
+    @Size(max = 255)
     @NotBlank(message = "title is mandatory")
     private String title;
 
@@ -16,4 +16,5 @@ public class TaskResponse {
     private String title;
     private String description;
     private LocalDate dueDate;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.taskService.task.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Fields a task listing can be sorted by. Ties are always broken by ID.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskSortField {
+    ID("id"),
+    DUE_DATE("dueDate"),
+    TITLE("title");
+
+    private final String property;
+
+    public static TaskSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort property: " + property));
+    }
+}
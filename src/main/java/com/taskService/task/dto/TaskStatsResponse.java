@@ -0,0 +1,25 @@
+package com.taskService.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Task counts by due date, relative to {@code date}. {@code dueThisWeek} covers {@code date} and the six days
+ * after it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatsResponse {
+    private LocalDate date;
+    private long total;
+    private long overdue;
+    private long dueToday;
+    private long dueThisWeek;
+    private long withoutDueDate;
+}
@@ -0,0 +1,194 @@
+package com.taskService.task.due;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This is an index of tasks by due date, kept in memory so due and overdue tasks are found without looking
+ * at every task. Each date with tasks due has a bucket of their IDs in ascending order, and the buckets are
+ * ordered by date, so a page of tasks costs one lookup plus the size of the page however many tasks there
+ * are. Tasks without a due date are not indexed.
+ *
+ * <p>Like the search index it is rebuilt on startup, by
+ * {@link com.taskService.task.startup.TaskIndexLoader}, and kept in step with committed changes by
+ * {@link TaskDueIndexUpdater}. Every operation is short, so one read-write lock guards the whole index.
+ */
+@Component
+public class TaskDueIndex implements MeterBinder {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<LocalDate, Bucket> buckets = new TreeMap<>();
+    private final Map<Long, LocalDate> dueDates = new HashMap<>();
+
+    /**
+     * Indexes a task under its due date, moving it if it was indexed under another one.
+     *
+     * @param dueDate the task's due date; {@code null} removes the task from the index
+     * @return the due date the task was indexed under before, or {@code null}
+     */
+    public LocalDate put(long id, LocalDate dueDate) {
+        lock.writeLock().lock();
+        try {
+            LocalDate previous = dueDate == null ? dueDates.remove(id) : dueDates.put(id, dueDate);
+            if (previous != null && !previous.equals(dueDate)) {
+                Bucket bucket = buckets.get(previous);
+                if (bucket.remove(id)) {
+                    buckets.remove(previous);
+                }
+            }
+            if (dueDate != null && !dueDate.equals(previous)) {
+                buckets.computeIfAbsent(dueDate, date -> new Bucket()).add(id);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the due date the task was indexed under, or {@code null}
+     */
+    public LocalDate remove(long id) {
+        return put(id, null);
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            dueDates.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the due date the task is indexed under, or {@code null} if it is not indexed
+     */
+    public LocalDate dueDate(long id) {
+        lock.readLock().lock();
+        try {
+            return dueDates.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds tasks due on one date.
+     *
+     * @param after ID of the last task of the previous page, or {@code null} for the first page
+     * @return up to {@code limit} task IDs in ascending order
+     */
+    public List<Long> dueOn(LocalDate date, Long after, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+        lock.readLock().lock();
+        try {
+            Bucket bucket = buckets.get(date);
+            if (bucket != null) {
+                bucket.copyTo(ids, after, limit);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds tasks due before a date, ordered by due date and then ID.
+     *
+     * @param afterDate due date of the last task of the previous page, or {@code null} for the first page
+     * @param afterId   ID of the last task of the previous page
+     * @return up to {@code limit} task IDs
+     */
+    public List<Long> dueBefore(LocalDate date, LocalDate afterDate, Long afterId, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+        if (afterDate != null && !afterDate.isBefore(date)) {
+            return ids;
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDate, Bucket> range = afterDate == null
+                    ? buckets.headMap(date, false)
+                    : buckets.subMap(afterDate, true, date, false);
+            for (Map.Entry<LocalDate, Bucket> entry : range.entrySet()) {
+                entry.getValue().copyTo(ids, entry.getKey().equals(afterDate) ? afterId : null, limit);
+                if (ids.size() == limit) {
+                    break;
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Publishes the number of tasks with a due date as {@code task.due.indexed}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.due.indexed", this, index -> index.dueDates.size())
+                .description("Tasks in the due date index")
+                .register(registry);
+    }
+
+    /**
+     * The IDs of the tasks due on one date, as a sorted array. New tasks get the highest IDs yet, so adding
+     * one is usually an append.
+     */
+    private static final class Bucket {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        /**
+         * @return whether the bucket is now empty
+         */
+        private boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        private void copyTo(List<Long> target, Long after, int limit) {
+            int from = 0;
+            if (after != null) {
+                int index = Arrays.binarySearch(ids, 0, size, after);
+                from = index >= 0 ? index + 1 : -index - 1;
+            }
+            for (int i = from; i < size && target.size() < limit; i++) {
+                target.add(ids[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskService.task.due;
+
+import com.taskService.task.event.TaskChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the due date index and statistics in step with the database by applying every committed task change
+ * to them. The index knows each task's previous due date, so the statistics learn it from there.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskDueIndexUpdater {
+
+    private final TaskDueIndex taskDueIndex;
+    private final TaskDueStatistics taskDueStatistics;
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                taskDueIndex.put(event.taskId(), event.task().getDueDate());
+                taskDueStatistics.added(event.task().getDueDate());
+            }
+            case UPDATED -> taskDueStatistics.moved(
+                    taskDueIndex.put(event.taskId(), event.task().getDueDate()), event.task().getDueDate());
+            case DELETED -> taskDueStatistics.removed(taskDueIndex.remove(event.taskId()));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskService.task.due;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Configuration for due date reminders, bound from {@code task.due.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.due")
+public class TaskDueProperties {
+
+    /** Time zone whose midnight makes tasks due and overdue; the system default when unset. */
+    private ZoneId zone;
+
+    /** How often the scheduler checks whether the date has changed. */
+    private Duration checkInterval = Duration.ofMinutes(1);
+
+    /** How often the task statistics are checked against a count from the database. */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+}
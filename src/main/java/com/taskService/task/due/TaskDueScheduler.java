@@ -0,0 +1,114 @@
+package com.taskService.task.due;
+
+import com.taskService.task.event.TaskDueEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class tracks the current date and publishes a {@link TaskDueEvent} for the tasks that become due
+ * and overdue when it changes: at midnight the tasks due that day are due, and those due the day before are
+ * overdue. The tasks come from one bucket of the {@link TaskDueIndex} each, so a reminder never looks at
+ * tasks due on other days.
+ *
+ * <p>Reminders are only sent for date changes while the application runs; on startup the current date is
+ * taken as it is. Overdue listings are relative to the same date, so they agree with the reminders sent.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(TaskDueProperties.class)
+public class TaskDueScheduler implements MeterBinder {
+
+    private final TaskDueIndex taskDueIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zone;
+    private final ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-due-scheduler").daemon().factory());
+    private final LongAdder due = new LongAdder();
+    private final LongAdder overdue = new LongAdder();
+    private volatile LocalDate today;
+
+    public TaskDueScheduler(TaskDueProperties properties, TaskDueIndex taskDueIndex,
+                            ApplicationEventPublisher eventPublisher) {
+        this.taskDueIndex = taskDueIndex;
+        this.eventPublisher = eventPublisher;
+        this.zone = properties.getZone() == null ? ZoneId.systemDefault() : properties.getZone();
+        this.today = LocalDate.now(zone);
+        long intervalMillis = properties.getCheckInterval().toMillis();
+        clock.scheduleWithFixedDelay(this::checkDate, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the date tasks are currently due or overdue relative to
+     */
+    public LocalDate today() {
+        return today;
+    }
+
+    /**
+     * Moves the current date forward, publishing reminders for every day passed on the way. Does nothing if
+     * the date is not after the current one.
+     */
+    public synchronized void advanceTo(LocalDate date) {
+        LocalDate day = today;
+        while (day.isBefore(date)) {
+            remind(TaskDueEvent.Type.OVERDUE, day);
+            day = day.plusDays(1);
+            remind(TaskDueEvent.Type.DUE, day);
+            today = day;
+        }
+    }
+
+    /**
+     * Publishes the number of tasks reminded of as {@code task.due.reminders}, tagged with {@code type}
+     * {@code due} or {@code overdue}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.due.reminders", due, LongAdder::sum)
+                .tag("type", "due")
+                .description("Tasks that became due")
+                .register(registry);
+        FunctionCounter.builder("task.due.reminders", overdue, LongAdder::sum)
+                .tag("type", "overdue")
+                .description("Tasks that became overdue")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        clock.shutdownNow();
+    }
+
+    private void checkDate() {
+        try {
+            advanceTo(LocalDate.now(zone));
+        } catch (Exception e) {
+            log.error("Failed to send due date reminders", e);
+        }
+    }
+
+    private void remind(TaskDueEvent.Type type, LocalDate dueDate) {
+        List<Long> taskIds = taskDueIndex.dueOn(dueDate, null, Integer.MAX_VALUE);
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        (type == TaskDueEvent.Type.DUE ? due : overdue).add(taskIds.size());
+        log.info("{} tasks due on {} are now {}", taskIds.size(), dueDate, type.name().toLowerCase(Locale.ROOT));
+        eventPublisher.publishEvent(new TaskDueEvent(type, dueDate, taskIds));
+    }
+}
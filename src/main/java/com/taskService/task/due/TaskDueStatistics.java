@@ -0,0 +1,276 @@
+package com.taskService.task.due;
+
+import com.taskService.task.dto.TaskStatsResponse;
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.service.TaskDatabaseHelper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class keeps task counts per due date, so statistics are answered from a handful of counters instead of
+ * a query. There is a {@link LongAdder} per due date from today on plus running totals, all adjusted by
+ * {@link TaskDueIndexUpdater} as committed changes come in, so writers never contend on a lock. Past days
+ * are only counted in the overdue total: when the {@link TaskDueScheduler}'s date changes, the days that
+ * passed are added to it and their counters dropped.
+ *
+ * <p>The counters can drift, e.g. when a change races the date change, so they are periodically checked
+ * against one {@code group by} query. A check is only trusted when no change was counted while the query
+ * ran, and a drift is only corrected once two checks in a row agree on it, so a change that was committed
+ * but not yet counted is not corrected twice. Checks also drop the counters of days no task is due on any
+ * more, so only as many counters are kept as there are upcoming due dates.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(TaskDueProperties.class)
+public class TaskDueStatistics implements MeterBinder {
+
+    private static final int WEEK = 7;
+
+    private final TaskDatabaseHelper taskDatabaseHelper;
+    private final TaskDueScheduler taskDueScheduler;
+    private final Map<LocalDate, LongAdder> dueOn = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder withoutDueDate = new LongAdder();
+    private final LongAdder overdue = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final LongAdder corrections = new LongAdder();
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-stats-reconciler").daemon().factory());
+    private volatile LocalDate overdueBefore;
+    private Drift unconfirmedDrift;
+
+    public TaskDueStatistics(TaskDueProperties properties, TaskDatabaseHelper taskDatabaseHelper,
+                             TaskDueScheduler taskDueScheduler) {
+        this.taskDatabaseHelper = taskDatabaseHelper;
+        this.taskDueScheduler = taskDueScheduler;
+        this.overdueBefore = taskDueScheduler.today();
+        long intervalMillis = properties.getReconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts a new task.
+     */
+    public void added(LocalDate dueDate) {
+        adjust(dueDate, 1);
+    }
+
+    /**
+     * Counts a task whose due date changed.
+     */
+    public void moved(LocalDate from, LocalDate to) {
+        if (!Objects.equals(from, to)) {
+            adjust(from, -1);
+            adjust(to, 1);
+        }
+    }
+
+    /**
+     * Stops counting a deleted task.
+     */
+    public void removed(LocalDate dueDate) {
+        adjust(dueDate, -1);
+    }
+
+    /**
+     * Resets every count to zero, before they are counted afresh.
+     */
+    public synchronized void clear() {
+        dueOn.clear();
+        total.reset();
+        withoutDueDate.reset();
+        overdue.reset();
+        changes.increment();
+    }
+
+    /**
+     * @return the current counts, relative to the scheduler's current date
+     */
+    public TaskStatsResponse snapshot() {
+        LocalDate today = today();
+        long dueThisWeek = 0;
+        for (int day = 0; day < WEEK; day++) {
+            dueThisWeek += count(today.plusDays(day));
+        }
+        return TaskStatsResponse.builder()
+                .date(today)
+                .total(total.sum())
+                .overdue(overdue.sum())
+                .dueToday(count(today))
+                .dueThisWeek(dueThisWeek)
+                .withoutDueDate(withoutDueDate.sum())
+                .build();
+    }
+
+    /**
+     * Checks the counts against the database and corrects a drift that the previous check saw too.
+     *
+     * @return whether anything was corrected
+     */
+    public synchronized boolean reconcile() throws TaskRetrievalException {
+        long changesBefore = changes.sum();
+        Map<LocalDate, Long> actual = taskDatabaseHelper.countTasksByDueDate();
+        if (changes.sum() != changesBefore) {
+            log.debug("Tasks changed while they were counted; checking the statistics next time");
+            unconfirmedDrift = null;
+            return false;
+        }
+        LocalDate today = today();
+        prune(today);
+        Drift drift = driftFrom(actual, today);
+        if (drift.isEmpty() || !drift.equals(unconfirmedDrift)) {
+            unconfirmedDrift = drift.isEmpty() ? null : drift;
+            return false;
+        }
+        drift.days().forEach(this::adjust);
+        total.add(drift.total());
+        overdue.add(drift.overdue());
+        long corrected = drift.days().values().stream().mapToLong(Math::abs).sum()
+                + Math.abs(drift.total()) + Math.abs(drift.overdue());
+        corrections.add(corrected);
+        log.warn("Corrected task statistics by {} after they drifted from the database: {}", corrected, drift);
+        unconfirmedDrift = null;
+        return true;
+    }
+
+    /**
+     * Publishes the number of overdue tasks as {@code task.due.overdue}, tasks due today as
+     * {@code task.due.today}, the corrections made by reconciliation as {@code task.stats.corrections} and
+     * the number of due dates counted one by one as {@code task.stats.dates}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.due.overdue", this, statistics -> statistics.snapshot().getOverdue())
+                .description("Tasks whose due date has passed")
+                .register(registry);
+        Gauge.builder("task.due.today", this, statistics -> statistics.count(statistics.today()))
+                .description("Tasks due today")
+                .register(registry);
+        FunctionCounter.builder("task.stats.corrections", corrections, LongAdder::sum)
+                .description("Counts corrected after the task statistics drifted from the database")
+                .register(registry);
+        Gauge.builder("task.stats.dates", dueOn, Map::size)
+                .description("Due dates from today on that the task statistics keep a count for")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        reconciler.shutdownNow();
+    }
+
+    private void adjust(LocalDate dueDate, long delta) {
+        if (dueDate == null) {
+            withoutDueDate.add(delta);
+        } else if (dueDate.isBefore(today())) {
+            overdue.add(delta);
+        } else {
+            dueOn.computeIfAbsent(dueDate, date -> new LongAdder()).add(delta);
+        }
+        total.add(delta);
+        changes.increment();
+    }
+
+    private long count(LocalDate dueDate) {
+        LongAdder count = dueOn.get(dueDate);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * @return the scheduler's date, after moving the overdue total up to it
+     */
+    private LocalDate today() {
+        LocalDate today = taskDueScheduler.today();
+        if (overdueBefore.isBefore(today)) {
+            advanceOverdue(today);
+        }
+        return today;
+    }
+
+    private synchronized void advanceOverdue(LocalDate today) {
+        for (LocalDate day = overdueBefore; day.isBefore(today); day = day.plusDays(1)) {
+            LongAdder count = dueOn.remove(day);
+            if (count != null) {
+                overdue.add(count.sum());
+            }
+        }
+        overdueBefore = today;
+    }
+
+    /**
+     * Drops the counters of days no task is due on any more, and folds into the overdue total the counter of
+     * a past day that a change racing the date change left behind. A change counted on a counter while it is
+     * dropped is lost, and put right like any other drift.
+     */
+    private void prune(LocalDate today) {
+        dueOn.forEach((day, count) -> {
+            if (day.isBefore(today)) {
+                if (dueOn.remove(day, count)) {
+                    overdue.add(count.sum());
+                }
+            } else if (count.sum() == 0) {
+                dueOn.remove(day, count);
+            }
+        });
+    }
+
+    private Drift driftFrom(Map<LocalDate, Long> actual, LocalDate today) {
+        // past days are compared as one, through the overdue total
+        Set<LocalDate> dates = new HashSet<>(dueOn.keySet());
+        dates.add(null);
+        long expectedTotal = 0;
+        long expectedOverdue = 0;
+        for (Map.Entry<LocalDate, Long> day : actual.entrySet()) {
+            expectedTotal += day.getValue();
+            if (day.getKey() != null && day.getKey().isBefore(today)) {
+                expectedOverdue += day.getValue();
+            } else {
+                dates.add(day.getKey());
+            }
+        }
+        Map<LocalDate, Long> days = new HashMap<>();
+        long dayDrift = 0;
+        for (LocalDate date : dates) {
+            long delta = actual.getOrDefault(date, 0L) - (date == null ? withoutDueDate.sum() : count(date));
+            if (delta != 0) {
+                days.put(date, delta);
+                dayDrift += delta;
+            }
+        }
+        // what correcting the days does not already put right in the total
+        return new Drift(days, expectedTotal - total.sum() - dayDrift, expectedOverdue - overdue.sum());
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Failed to reconcile the task statistics", e);
+        }
+    }
+
+    private record Drift(Map<LocalDate, Long> days, long total, long overdue) {
+
+        private boolean isEmpty() {
+            return days.isEmpty() && total == 0 && overdue == 0;
+        }
+    }
+}
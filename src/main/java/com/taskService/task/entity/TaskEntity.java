@@ -1,29 +1,55 @@
 package com.taskService.task.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
+/**
+ * A task. Updates through dirty checking only write the columns that changed.
+ */
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_task_due_date", columnList = "dueDate, id"),
+        @Index(name = "idx_task_title", columnList = "title, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TaskEntity {
+
+    /**
+     * Number of IDs reserved per sequence call. The pooled optimizer hands them out in memory,
+     * so batched inserts do not need a sequence round trip per row.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String title;
 
+    @Column(length = 500)
     private String description;
 
     private LocalDate dueDate;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
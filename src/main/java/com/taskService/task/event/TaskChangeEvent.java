@@ -0,0 +1,30 @@
+package com.taskService.task.event;
+
+import com.taskService.task.entity.TaskEntity;
+
+/**
+ * Published by {@link com.taskService.task.service.TaskDatabaseHelper} once a change to a task is committed.
+ *
+ * @param type what happened to the task
+ * @param taskId ID of the task
+ * @param task the task as written, or {@code null} when it was deleted; its version is {@code null} when
+ *             the write did not learn it
+ */
+public record TaskChangeEvent(Type type, Long taskId, TaskEntity task) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static TaskChangeEvent created(TaskEntity task) {
+        return new TaskChangeEvent(Type.CREATED, task.getId(), task.toBuilder().build());
+    }
+
+    public static TaskChangeEvent updated(TaskEntity task) {
+        return new TaskChangeEvent(Type.UPDATED, task.getId(), task.toBuilder().build());
+    }
+
+    public static TaskChangeEvent deleted(Long taskId) {
+        return new TaskChangeEvent(Type.DELETED, taskId, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskService.task.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@link com.taskService.task.due.TaskDueScheduler} when the date changes, once for the tasks
+ * that have just become due and once for those that have just become overdue.
+ *
+ * @param type whether the tasks are now due or overdue
+ * @param dueDate the due date of the tasks
+ * @param taskIds IDs of the tasks, in ascending order
+ */
+public record TaskDueEvent(Type type, LocalDate dueDate, List<Long> taskIds) {
+
+    public enum Type {
+        DUE, OVERDUE
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskService.task.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded, in-memory log of the most recent change events, as sent to subscribers. Every event gets the
+ * next sequence number; once the log is full, the oldest event is overwritten.
+ *
+ * <p>Sequence numbers start at a value chosen when the log is created, so a sequence number handed out
+ * by an earlier run of the application is recognised as unknown rather than mistaken for a current one.
+ */
+public class TaskEventLog {
+
+    /**
+     * One logged event.
+     *
+     * @param sequence its sequence number, sent as the SSE event ID
+     * @param name SSE event name
+     * @param data SSE event data
+     */
+    public record Entry(long sequence, String name, String data) {
+    }
+
+    private final Entry[] entries;
+    private final long firstSequence;
+    private long nextSequence;
+
+    public TaskEventLog(int capacity, long firstSequence) {
+        this.entries = new Entry[capacity];
+        this.firstSequence = firstSequence;
+        this.nextSequence = firstSequence;
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @return its sequence number
+     */
+    public synchronized long append(String name, String data) {
+        long sequence = nextSequence++;
+        entries[index(sequence)] = new Entry(sequence, name, data);
+        return sequence;
+    }
+
+    /**
+     * Sequence number of the latest event; one less than the first sequence number while the log is empty.
+     */
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Returns the events that follow the given one, oldest first.
+     *
+     * @param sequence sequence number of the last event the caller has seen
+     * @param max maximum number of events to return
+     * @return the following events, empty if there are none yet, or {@code null} if some of them are no
+     *         longer in the log or {@code sequence} was never handed out by this log
+     */
+    public synchronized List<Entry> after(long sequence, int max) {
+        long oldest = Math.max(firstSequence, nextSequence - entries.length);
+        if (sequence < oldest - 1 || sequence >= nextSequence) {
+            return null;
+        }
+        long end = Math.min(nextSequence, sequence + 1 + max);
+        List<Entry> following = new ArrayList<>((int) (end - sequence - 1));
+        for (long next = sequence + 1; next < end; next++) {
+            following.add(entries[index(next)]);
+        }
+        return following;
+    }
+
+    private int index(long sequence) {
+        return (int) Math.floorMod(sequence, (long) entries.length);
+    }
+}
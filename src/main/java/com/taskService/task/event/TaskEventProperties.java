@@ -0,0 +1,26 @@
+package com.taskService.task.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the task change event stream, bound from {@code task.events.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.events")
+public class TaskEventProperties {
+
+    /** Number of recent events kept for subscribers resuming with Last-Event-ID. */
+    private int bufferSize = 10_000;
+
+    /** Maximum number of simultaneous subscribers. */
+    private int maxSubscribers = 10_000;
+
+    /** How long a subscription stays open; clients reconnect with Last-Event-ID afterwards. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** Interval of the comments sent to keep idle connections open through proxies. */
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
@@ -0,0 +1,230 @@
+package com.taskService.task.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.task.dto.TaskChangeMessage;
+import com.taskService.task.service.TaskMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class streams task changes to subscribers as Server-Sent Events. Each change is encoded once and
+ * appended to a {@link TaskEventLog}; subscribers are then sent what they have not seen yet, so a slow
+ * subscriber cannot hold up the writer, and a reconnecting one resumes from its {@code Last-Event-ID}.
+ *
+ * <p>A subscription is an async request and holds no thread while idle. Sending runs on a virtual thread
+ * per subscriber that only lives while that subscriber has events to catch up on. A subscriber whose
+ * position is no longer in the log is sent a {@code reset} event, after which it should reload the tasks,
+ * and continues from the latest event.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(TaskEventProperties.class)
+public class TaskEventStream implements MeterBinder {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final int SEND_BATCH = 256;
+
+    private final TaskEventProperties properties;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final TaskEventLog eventLog;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-events-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-events-heartbeat").daemon().factory());
+    private final LongAdder published = new LongAdder();
+
+    public TaskEventStream(TaskEventProperties properties, TaskMapper taskMapper, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.eventLog = new TaskEventLog(properties.getBufferSize(), System.currentTimeMillis() * 1000);
+        long heartbeatMillis = properties.getHeartbeat().toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a subscription.
+     *
+     * @param lastEventId ID of the last event the client received, to resume after it; {@code null} to
+     *                    only receive events from now on
+     * @return the emitter to return from the controller
+     * @throws ResponseStatusException with 503 if there are too many subscribers already
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, resumePosition(lastEventId));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Event subscriber added, resuming after: {}, subscribers: {}", lastEventId, subscribers.size());
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Logs a committed task change and wakes up the subscribers.
+     */
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        TaskChangeMessage message = TaskChangeMessage.builder()
+                .type(event.type().name().toLowerCase(Locale.ROOT))
+                .id(event.taskId())
+                .task(event.task() == null ? null : taskMapper.toResponse(event.task()))
+                .build();
+        if (append(message)) {
+            subscribers.forEach(this::schedule);
+        }
+    }
+
+    /**
+     * Logs one {@code due} or {@code overdue} event per task reminded of and wakes up the subscribers.
+     */
+    @EventListener
+    public void onTaskDue(TaskDueEvent event) {
+        String type = event.type().name().toLowerCase(Locale.ROOT);
+        for (Long taskId : event.taskIds()) {
+            append(TaskChangeMessage.builder().type(type).id(taskId).dueDate(event.dueDate()).build());
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Publishes the number of subscribers as {@code task.events.subscribers} and the number of events
+     * as {@code task.events.published}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.events.subscribers", subscribers, Set::size)
+                .description("Open task event stream subscriptions")
+                .register(registry);
+        FunctionCounter.builder("task.events.published", published, LongAdder::sum)
+                .description("Task change and reminder events published to the event stream")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void close() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private boolean append(TaskChangeMessage message) {
+        try {
+            eventLog.append(message.getType(), objectMapper.writeValueAsString(message));
+            published.increment();
+            return true;
+        } catch (JsonProcessingException e) {
+            log.error("Failed to encode {} event for task with ID: {}", message.getType(), message.getId(), e);
+            return false;
+        }
+    }
+
+    private long resumePosition(String lastEventId) {
+        if (lastEventId != null) {
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed Last-Event-ID: {}", lastEventId);
+            }
+        }
+        return eventLog.lastSequence();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    /**
+     * Sends the subscriber everything it has not seen yet. Only one send runs per subscriber at a time;
+     * events logged while it runs are picked up before it gives up that role.
+     */
+    private void send(Subscriber subscriber) {
+        try {
+            while (true) {
+                List<TaskEventLog.Entry> entries = eventLog.after(subscriber.position, SEND_BATCH);
+                if (entries == null) {
+                    long latest = eventLog.lastSequence();
+                    subscriber.emitter.send(SseEmitter.event().id(Long.toString(latest)).name(RESET_EVENT).data("{}"));
+                    subscriber.position = latest;
+                    continue;
+                }
+                if (entries.isEmpty()) {
+                    subscriber.sending.set(false);
+                    if (eventLog.lastSequence() == subscriber.position || !subscriber.sending.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                for (TaskEventLog.Entry entry : entries) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(entry.sequence()))
+                            .name(entry.name())
+                            .data(entry.data(), MediaType.APPLICATION_JSON));
+                    subscriber.position = entry.sequence();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event subscriber that can no longer be written to", e);
+            subscribers.remove(subscriber);
+            subscriber.sending.set(false);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> senders.execute(() -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long position;
+
+        private Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+}
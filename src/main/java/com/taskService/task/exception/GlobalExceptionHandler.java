@@ -1,6 +1,8 @@
 package com.taskService.task.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,6 +19,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(TaskPreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailed(TaskPreconditionFailedException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(TaskQueueFullException.class)
+    public ResponseEntity<String> handleQueueFull(TaskQueueFullException ex) {
+        log.warn("Rejected task creation: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskNotYetWrittenException.class)
+    public ResponseEntity<String> handleNotYetWritten(TaskNotYetWrittenException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskWriteFailedException.class)
+    public ResponseEntity<String> handleWriteFailed(TaskWriteFailedException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.GONE);
+    }
 
     @ExceptionHandler(TaskSaveException.class)
     public ResponseEntity<String> handleTaskSaveException(TaskSaveException e) {
@@ -45,4 +71,14 @@ public class GlobalExceptionHandler {
                 .orElse("Validation failed");
         return ResponseEntity.badRequest().body(error);
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException ex) {
+        String error = ex.getConstraintViolations()
+                .stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .findFirst()
+                .orElse("Validation failed");
+        return ResponseEntity.badRequest().body(error);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.taskService.task.exception;
+
+public class TaskNotYetWrittenException extends RuntimeException {
+    public TaskNotYetWrittenException(Long id) {
+        super("Task with id " + id + " is accepted but not written yet, retry shortly");
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskService.task.exception;
+
+public class TaskPreconditionFailedException extends RuntimeException {
+    public TaskPreconditionFailedException(Long id) {
+        super("Task with id " + id + " does not match the If-Match precondition");
+    }
+}
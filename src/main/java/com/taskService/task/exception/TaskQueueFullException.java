@@ -0,0 +1,7 @@
+package com.taskService.task.exception;
+
+public class TaskQueueFullException extends RuntimeException {
+    public TaskQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskService.task.exception;
+
+public class TaskWriteFailedException extends RuntimeException {
+    public TaskWriteFailedException(Long id) {
+        super("Task with id " + id + " was accepted but could not be written, create it again");
+    }
+}
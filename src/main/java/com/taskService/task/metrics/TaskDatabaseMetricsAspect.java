@@ -0,0 +1,27 @@
+package com.taskService.task.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * This aspect times every public {@code TaskDatabaseHelper} method. Timers are tagged with the method name
+ * as operation, the outcome, and the exception type that ended the call, if any.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TaskDatabaseMetricsAspect {
+
+    public static final String TIMER_NAME = "task.db.operations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.taskService.task.service.TaskDatabaseHelper.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        return TaskOperationTimer.time(meterRegistry, TIMER_NAME, "Latency of task database operations", joinPoint);
+    }
+}
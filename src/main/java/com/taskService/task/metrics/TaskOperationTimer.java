@@ -0,0 +1,54 @@
+package com.taskService.task.metrics;
+
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+
+/**
+ * Times a call intercepted by one of the metrics aspects, tagged with the method name as operation, the
+ * outcome, and the exception type that ended the call, if any.
+ */
+final class TaskOperationTimer {
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_NOT_FOUND = "not-found";
+    static final String OUTCOME_PRECONDITION_FAILED = "precondition-failed";
+    static final String OUTCOME_ERROR = "error";
+
+    private TaskOperationTimer() {
+        // Prevent instantiation
+    }
+
+    static Object time(MeterRegistry meterRegistry, String name, String description, ProceedingJoinPoint joinPoint)
+            throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_SUCCESS;
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcomeOf(e);
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .description(description)
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcomeOf(Throwable e) {
+        if (e instanceof TaskNotFoundException) {
+            return OUTCOME_NOT_FOUND;
+        }
+        if (e instanceof TaskPreconditionFailedException) {
+            return OUTCOME_PRECONDITION_FAILED;
+        }
+        return OUTCOME_ERROR;
+    }
+}
@@ -0,0 +1,27 @@
+package com.taskService.task.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * This aspect times every public {@code TaskService} method, i.e. the database work plus mapping, caching
+ * and the in-memory indexes. Timers are tagged like those of {@link TaskDatabaseMetricsAspect}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TaskServiceMetricsAspect {
+
+    public static final String TIMER_NAME = "task.service.operations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.taskService.task.service.TaskService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        return TaskOperationTimer.time(meterRegistry, TIMER_NAME, "Latency of task service operations", joinPoint);
+    }
+}
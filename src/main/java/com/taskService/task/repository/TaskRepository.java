@@ -1,8 +1,96 @@
 package com.taskService.task.repository;
 
+import com.taskService.task.dto.TaskResponse;
 import com.taskService.task.entity.TaskEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-}
\ No newline at end of file
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, JpaSpecificationExecutor<TaskEntity>,
+        TaskRepositoryCustom {
+
+    /**
+     * Streams every task ordered by id, selected straight into responses so nothing accumulates in the
+     * persistence context. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.taskService.task.dto.TaskResponse(t.id, t.title, t.description, t.dueDate, t.version) "
+            + "from TaskEntity t order by t.id")
+    Stream<TaskResponse> streamAllResponses();
+
+    /**
+     * Selects the tasks with the given IDs straight into responses, in no particular order.
+     */
+    @Query("select new com.taskService.task.dto.TaskResponse(t.id, t.title, t.description, t.dueDate, t.version) "
+            + "from TaskEntity t where t.id in :ids")
+    List<TaskResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Counts the tasks per due date, as rows of due date (null for tasks without one) and count.
+     */
+    @Query("select t.dueDate, count(t) from TaskEntity t group by t.dueDate")
+    List<Object[]> countByDueDate();
+
+    /**
+     * Returns those of the given IDs that belong to an existing task.
+     */
+    @Query("select t.id from TaskEntity t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the version of a task, or {@code null} if it does not exist.
+     */
+    @Query("select t.version from TaskEntity t where t.id = :id")
+    Long findVersion(@Param("id") Long id);
+
+    /**
+     * Overwrites the fields of a task with a single UPDATE statement, bumping its version.
+     *
+     * @return number of rows updated, 0 if the task does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.title = :title, t.description = :description, t.dueDate = :dueDate, "
+            + "t.version = t.version + 1 where t.id = :id")
+    int updateTask(@Param("id") Long id,
+                   @Param("title") String title,
+                   @Param("description") String description,
+                   @Param("dueDate") LocalDate dueDate);
+
+    /**
+     * Overwrites the fields of a task with a single UPDATE statement, only if it is still at the given version.
+     *
+     * @return number of rows updated, 0 if the task does not exist or is at another version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.title = :title, t.description = :description, t.dueDate = :dueDate, "
+            + "t.version = t.version + 1 where t.id = :id and t.version = :version")
+    int updateTaskIfVersion(@Param("id") Long id,
+                            @Param("version") Long version,
+                            @Param("title") String title,
+                            @Param("description") String description,
+                            @Param("dueDate") LocalDate dueDate);
+
+    /**
+     * Deletes a task with a single DELETE statement, without loading it first.
+     *
+     * @return number of rows deleted, 0 if the task does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskEntity t where t.id = :id")
+    int deleteTask(@Param("id") Long id);
+}
@@ -0,0 +1,25 @@
+package com.taskService.task.repository;
+
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read queries of {@link TaskRepository} that select columns straight into {@link TaskResponse}, so no
+ * entity is hydrated, snapshotted for dirty checking or kept in the persistence context.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Returns the first tasks matching a specification, in the given order.
+     *
+     * @param specification the filter, or {@code null} for all tasks
+     * @param sort the sort order
+     * @param limit maximum number of tasks to return
+     * @return the matching tasks
+     */
+    List<TaskResponse> findResponses(Specification<TaskEntity> specification, Sort sort, int limit);
+}
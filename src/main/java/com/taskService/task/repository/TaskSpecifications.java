@@ -0,0 +1,100 @@
+package com.taskService.task.repository;
+
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.entity.TaskEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * This class builds the JPA specifications behind task listings. Every predicate is shaped
+ * so it can be answered from the dueDate and title indexes declared on {@link TaskEntity}.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Combines the filters of a query with its keyset position.
+     *
+     * @param query the listing query
+     * @param cursor the task the page starts after, or {@code null} for the first page
+     * @return the combined specification
+     */
+    public static Specification<TaskEntity> matching(TaskQuery query, TaskEntity cursor) {
+        return Specification.where(dueBefore(query.getDueBefore()))
+                .and(dueAfter(query.getDueAfter()))
+                .and(titleStartsWith(query.getTitlePrefix()))
+                .and(after(cursor, query));
+    }
+
+    /**
+     * Sort order of a query, always ending with ID so that keyset positions are unambiguous.
+     */
+    public static Sort sortOf(TaskQuery query) {
+        Sort byId = Sort.by(query.getDirection(), "id");
+        return switch (query.getSortBy()) {
+            case ID -> byId;
+            case DUE_DATE, TITLE -> Sort.by(query.getDirection(), query.getSortBy().getProperty()).and(byId);
+        };
+    }
+
+    static Specification<TaskEntity> dueBefore(LocalDate date) {
+        return date == null ? null : (root, cq, cb) -> cb.lessThan(root.get("dueDate"), date);
+    }
+
+    static Specification<TaskEntity> dueAfter(LocalDate date) {
+        return date == null ? null : (root, cq, cb) -> cb.greaterThan(root.get("dueDate"), date);
+    }
+
+    static Specification<TaskEntity> titleStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, cq, cb) -> cb.like(root.get("title"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Tasks that come after the cursor in the query's sort order. Written as
+     * {@code field >= value and (field > value or id > cursorId)} rather than a plain disjunction,
+     * so the leading conjunct can still drive an index range scan.
+     */
+    static Specification<TaskEntity> after(TaskEntity cursor, TaskQuery query) {
+        if (cursor == null) {
+            return null;
+        }
+        boolean ascending = query.getDirection().isAscending();
+        return (root, cq, cb) -> {
+            Predicate idAfter = beyond(cb, root.get("id"), cursor.getId(), ascending, false);
+            return switch (query.getSortBy()) {
+                case ID -> idAfter;
+                case DUE_DATE -> keyset(cb, root.get("dueDate"), cursor.getDueDate(), idAfter, ascending);
+                case TITLE -> keyset(cb, root.get("title"), cursor.getTitle(), idAfter, ascending);
+            };
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate keyset(CriteriaBuilder cb, Path<T> field, T value,
+                                                                      Predicate idAfter, boolean ascending) {
+        return cb.and(
+                beyond(cb, field, value, ascending, true),
+                cb.or(beyond(cb, field, value, ascending, false), idAfter));
+    }
+
+    private static <T extends Comparable<? super T>> Predicate beyond(CriteriaBuilder cb, Path<T> field, T value,
+                                                                      boolean ascending, boolean inclusive) {
+        if (ascending) {
+            return inclusive ? cb.greaterThanOrEqualTo(field, value) : cb.greaterThan(field, value);
+        }
+        return inclusive ? cb.lessThanOrEqualTo(field, value) : cb.lessThan(field, value);
+    }
+}
@@ -0,0 +1,206 @@
+package com.taskService.task.search;
+
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskRetrievalException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is an inverted index over the title and description of every task, kept next to the database.
+ * Writers call {@link #index} and {@link #remove} once their change is committed; a search sees every
+ * change made before it, as changes are counted and a search refreshes the index unless a refresh started
+ * after the latest change already has.
+ *
+ * <p>Text is analysed as English: stop words are dropped and words are stemmed, so "leaking" finds "leak".
+ * Hits are ranked by BM25, with title matches weighted double. The index only holds what is needed to
+ * find tasks; the tasks themselves are read from the database by ID.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2f, DESCRIPTION, 1f);
+
+    private final Directory directory;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final Timer searchTimer;
+
+    public TaskSearchIndex(TaskSearchProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.directory = properties.getIndexDir() == null
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(properties.getIndexDir());
+        this.writer = new IndexWriter(directory,
+                new IndexWriterConfig(analyzer)
+                        .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                        .setRAMBufferSizeMB(properties.getRamBufferMb()));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.searchTimer = Timer.builder("task.search")
+                .description("Time to find one page of full-text search hits")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds a task to the index, replacing its previous entry.
+     */
+    public void index(TaskEntity task) {
+        index(task.getId(), task.getTitle(), task.getDescription());
+    }
+
+    /**
+     * Adds a task to the index, replacing its previous entry.
+     *
+     * @param id task ID
+     * @param title task title
+     * @param description task description
+     */
+    public void index(Long id, String title, String description) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(title), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, nullToEmpty(description), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), document);
+            changes.incrementAndGet();
+        } catch (IOException e) {
+            log.error("Failed to index task with ID: {}", id, e);
+        }
+    }
+
+    /**
+     * Removes tasks from the index.
+     *
+     * @param ids task IDs
+     */
+    public void remove(Collection<Long> ids) {
+        try {
+            writer.deleteDocuments(ids.stream().map(id -> new Term(ID, id.toString())).toArray(Term[]::new));
+            changes.incrementAndGet();
+        } catch (IOException e) {
+            log.error("Failed to remove {} tasks from the search index", ids.size(), e);
+        }
+    }
+
+    /**
+     * Removes every task from the index.
+     */
+    public void clear() throws IOException {
+        writer.deleteAll();
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Merges the index down to a single segment, so searches do not pay per segment. Meant for right after
+     * a rebuild, when the index is made of many small segments and nothing else is writing.
+     */
+    public void compact() throws IOException {
+        long seen = changes.get();
+        writer.forceMerge(1);
+        searcherManager.maybeRefreshBlocking();
+        refreshed.accumulateAndGet(seen, Math::max);
+    }
+
+    /**
+     * Finds the IDs of the tasks matching the search text, best match first. The text is made of words that
+     * must all occur; {@code "quoted phrases"}, {@code prefix*}, {@code -excluded} words and {@code a | b}
+     * alternatives are supported.
+     *
+     * @param text search text
+     * @param offset number of best hits to skip
+     * @param limit maximum number of hits to return
+     * @return task IDs, best match first
+     * @throws TaskRetrievalException if the index cannot be read
+     */
+    public List<Long> search(String text, int offset, int limit) throws TaskRetrievalException {
+        long start = System.nanoTime();
+        try {
+            refresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(parse(text), offset + limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(Math.max(0, hits.length - offset));
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(hits[i].doc, Set.of(ID)).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.error("Failed to search tasks for: {}", text, e);
+            throw new TaskRetrievalException("Failed to search tasks", e);
+        } finally {
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Makes the searcher see every change counted so far. The count is read before refreshing, so a change
+     * made while the refresh runs is left for the next search rather than marked as seen; and a search that
+     * finds another one refreshing waits for it and then refreshes itself.
+     */
+    private void refresh() throws IOException {
+        long seen = changes.get();
+        if (refreshed.get() < seen) {
+            searcherManager.maybeRefreshBlocking();
+            refreshed.accumulateAndGet(seen, Math::max);
+        }
+    }
+
+    private Query parse(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
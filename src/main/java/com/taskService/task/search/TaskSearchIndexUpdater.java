@@ -0,0 +1,26 @@
+package com.taskService.task.search;
+
+import com.taskService.task.event.TaskChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the search index in step with the database by applying every committed task change to it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndexUpdater {
+
+    private final TaskSearchIndex taskSearchIndex;
+
+    @EventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> taskSearchIndex.index(event.task());
+            case DELETED -> taskSearchIndex.remove(List.of(event.taskId()));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskService.task.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for the full-text task search index, bound from {@code task.search.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.search")
+public class TaskSearchProperties {
+
+    /**
+     * Directory to keep the index in, memory-mapped; when unset the index lives on the heap.
+     * Either way it is rebuilt from the database on startup.
+     */
+    private Path indexDir;
+
+    /**
+     * Memory to buffer index changes in before they are written out as a new segment; a larger buffer means
+     * fewer, larger segments to merge during bulk imports.
+     */
+    private double ramBufferMb = 64;
+}
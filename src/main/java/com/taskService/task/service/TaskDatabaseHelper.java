@@ -1,20 +1,40 @@
 package com.taskService.task.service;
 
+import com.taskService.task.cache.TaskCache;
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskSortField;
 import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.event.TaskChangeEvent;
 import com.taskService.task.exception.TaskDeletionException;
 import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
 import com.taskService.task.exception.TaskRetrievalException;
 import com.taskService.task.exception.TaskSaveException;
-import com.taskService.task.repository.TaskRepository;
+import com.taskService.task.store.TaskStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
- * This is a helper class for db operations for task service class
- *
+ * This is a helper class for db operations for task service class. The tasks themselves are kept by the
+ * configured {@link TaskStore}; this class adds the cache, change events and error translation on top.
  */
 
 @Component
@@ -22,7 +42,9 @@ import java.util.List;
 @Slf4j
 public class TaskDatabaseHelper {
 
-    private final TaskRepository taskRepository;
+    private final TaskStore taskStore;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Saves a task entity to the database.
@@ -32,9 +54,10 @@ public class TaskDatabaseHelper {
      */
     public TaskEntity saveTask(TaskEntity task) throws TaskSaveException {
         try {
-            log.info("Saving task to database: {}", task);
-            TaskEntity savedTask = taskRepository.save(task);
-            log.info("Task successfully saved with ID: {}", savedTask.getId());
+            log.trace("Saving task to database: {}", task);
+            TaskEntity savedTask = taskStore.save(task);
+            cacheAndPublish(TaskChangeEvent.created(savedTask));
+            log.debug("Task successfully saved with ID: {}", savedTask.getId());
             return savedTask;
         } catch (Exception e) {
             log.error("Error occurred while saving task: {}", task, e);  // Log error with exception details
@@ -43,17 +66,60 @@ public class TaskDatabaseHelper {
     }
 
     /**
-     * Retrieves all tasks from the database.
+     * Saves a batch of new tasks as one batch; with the JPA store, in one transaction.
      *
-     * @return list of tasks
+     * @param tasks the tasks to save
+     * @return the saved tasks, in the same order
+     * @throws TaskSaveException if any task could not be saved; no task is saved in that case
+     */
+    public List<TaskEntity> saveTasks(List<TaskEntity> tasks) throws TaskSaveException {
+        try {
+            log.debug("Saving batch of {} tasks to database", tasks.size());
+            List<TaskEntity> savedTasks = taskStore.saveAll(tasks);
+            afterCommit(() -> savedTasks.forEach(task -> cacheAndPublish(TaskChangeEvent.created(task))));
+            log.debug("Batch of {} tasks successfully saved", savedTasks.size());
+            return savedTasks;
+        } catch (Exception e) {
+            log.error("Error occurred while saving batch of {} tasks", tasks.size(), e);
+            throw new TaskSaveException("Failed to save tasks", e);
+        }
+    }
+
+    /**
+     * Inserts a batch of new tasks whose IDs were already assigned, as one batch.
+     *
+     * @param tasks the tasks to insert, each with its ID and initial version
+     * @throws TaskSaveException if any task could not be inserted; no task is inserted in that case
+     */
+    public void insertTasks(List<TaskEntity> tasks) throws TaskSaveException {
+        try {
+            log.debug("Inserting batch of {} tasks", tasks.size());
+            taskStore.insertAll(tasks);
+            afterCommit(() -> tasks.forEach(task -> cacheAndPublish(TaskChangeEvent.created(task))));
+            log.debug("Batch of {} tasks successfully inserted", tasks.size());
+        } catch (Exception e) {
+            log.error("Error occurred while inserting batch of {} tasks", tasks.size(), e);
+            throw new TaskSaveException("Failed to insert tasks", e);
+        }
+    }
+
+    /**
+     * Retrieves one keyset page of tasks matching the query's filters, in the query's sort order.
+     *
+     * @param query filters, sort order and keyset position
+     * @return list of tasks that follow the query's cursor task
+     * @throws TaskNotFoundException if the cursor task of a non-ID sort no longer exists
      * @throws TaskRetrievalException if there is an error during retrieval
      */
-    public List<TaskEntity> findAllTasks() throws TaskRetrievalException {
+    public List<TaskResponse> findTasks(TaskQuery query) throws TaskRetrievalException {
         try {
-            log.info("Fetching all tasks from database");
-            List<TaskEntity> tasks = taskRepository.findAll();
-            log.info("Successfully retrieved {} tasks from database", tasks.size());
+            log.debug("Fetching tasks from database for query: {}", query);
+            TaskEntity cursor = cursorOf(query);
+            List<TaskResponse> tasks = taskStore.find(query, cursor);
+            log.debug("Successfully retrieved {} tasks from database", tasks.size());
             return tasks;
+        } catch (TaskNotFoundException e) {
+            throw e;  // propagate as is
         } catch (Exception e) {
             log.error("Error occurred while fetching tasks", e);
             throw new TaskRetrievalException("Failed to retrieve tasks", e);
@@ -61,7 +127,65 @@ public class TaskDatabaseHelper {
     }
 
     /**
-     * Finds a task by its ID.
+     * Retrieves the tasks with the given IDs.
+     *
+     * @param ids task IDs
+     * @return the tasks in the order of {@code ids}; IDs without a task are skipped
+     * @throws TaskRetrievalException if there is an error during retrieval
+     */
+    public List<TaskResponse> findTasksByIds(List<Long> ids) throws TaskRetrievalException {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            log.debug("Fetching {} tasks by ID from database", ids.size());
+            Map<Long, TaskResponse> found = new HashMap<>();
+            taskStore.findByIds(ids).forEach(task -> found.put(task.getId(), task));
+            return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        } catch (Exception e) {
+            log.error("Error occurred while fetching {} tasks by ID", ids.size(), e);
+            throw new TaskRetrievalException("Failed to retrieve tasks", e);
+        }
+    }
+
+    /**
+     * Streams all tasks ordered by ID to the given consumer.
+     *
+     * @param consumer receives each task in turn
+     * @throws TaskRetrievalException if there is an error during retrieval
+     */
+    public void streamAllTasks(Consumer<TaskResponse> consumer) throws TaskRetrievalException {
+        log.debug("Streaming all tasks from database");
+        try {
+            taskStore.forEach(consumer);
+        } catch (UncheckedIOException e) {
+            // the consumer could not write the task out, e.g. the client went away; not a read failure
+            throw e;
+        } catch (Exception e) {
+            log.error("Error occurred while streaming tasks", e);
+            throw new TaskRetrievalException("Failed to stream tasks", e);
+        }
+    }
+
+    /**
+     * Counts the tasks per due date with one aggregate query.
+     *
+     * @return task count per due date, with tasks without a due date under the {@code null} key
+     * @throws TaskRetrievalException if there is an error during retrieval
+     */
+    public Map<LocalDate, Long> countTasksByDueDate() throws TaskRetrievalException {
+        log.debug("Counting tasks by due date");
+        try {
+            return taskStore.countByDueDate();
+        } catch (Exception e) {
+            log.error("Error occurred while counting tasks by due date", e);
+            throw new TaskRetrievalException("Failed to count tasks", e);
+        }
+    }
+
+    /**
+     * Finds a task by its ID, serving it from the task cache when possible. Deliberately not transactional,
+     * so a cache hit never checks out a connection; a miss loads through the store.
      *
      * @param id the task ID
      * @return the found task
@@ -70,13 +194,10 @@ public class TaskDatabaseHelper {
      */
     public TaskEntity findTaskById(Long id) throws TaskRetrievalException {
         try {
-            log.info("Fetching task by ID: {}", id);
-            return taskRepository.findById(id)
-                    .orElseThrow(() -> {
-                        log.warn("Task not found with ID: {}", id);
-                        return new TaskNotFoundException(id);
-                    });
+            log.debug("Fetching task by ID: {}", id);
+            return taskCache.get(id, taskStore::findById);
         } catch (TaskNotFoundException e) {
+            log.debug("Task not found with ID: {}", id);
             throw e;  // propagate as is
         } catch (Exception e) {
             log.error("Unexpected error occurred while fetching task by ID: {}", id, e);
@@ -88,39 +209,120 @@ public class TaskDatabaseHelper {
 
 
     /**
-     * Updates an existing task.
+     * Updates an existing task without reading it first; only when nothing was updated is it checked
+     * whether the task exists.
      *
      * @param id task ID
      * @param updatedData updated task data
-     * @return updated task
-     */
-    public TaskEntity updateTask(Long id, TaskEntity updatedData) throws TaskSaveException {
-        try{
-        log.debug("Updating task with ID: {}", id);
-        TaskEntity existing = taskRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Task not found for update with ID: {}", id);
-                    return new TaskNotFoundException(id);
-                });
-
-        existing.setTitle(updatedData.getTitle());
-        existing.setDescription(updatedData.getDescription());
-        existing.setDueDate(updatedData.getDueDate());
-
-        log.debug("Saving updated task: {}", existing);
-        TaskEntity updatedTask = taskRepository.save(existing);
-        log.info("Task updated successfully with ID: {}", updatedTask.getId());
-        return updatedTask;
-        }
-        catch (Exception e) {
+     * @param expectedVersion version the task must still be at, or {@code null} to update unconditionally
+     * @return updated task, at its new version
+     * @throws TaskNotFoundException if task does not exist
+     * @throws TaskPreconditionFailedException if the task is no longer at the expected version
+     */
+    public TaskEntity updateTask(Long id, TaskEntity updatedData, Long expectedVersion) throws TaskSaveException {
+        try {
+            log.debug("Updating task with ID: {}, expected version: {}", id, expectedVersion);
+            OptionalLong version = taskStore.update(id, updatedData, expectedVersion);
+            if (version.isEmpty()) {
+                if (expectedVersion != null && taskStore.exists(id)) {
+                    log.warn("Task with ID: {} is no longer at version: {}", id, expectedVersion);
+                    throw new TaskPreconditionFailedException(id);
+                }
+                log.warn("Task not found for update with ID: {}", id);
+                throw new TaskNotFoundException(id);
+            }
+            TaskEntity updatedTask = updatedData.toBuilder()
+                    .id(id)
+                    .version(version.getAsLong())
+                    .build();
+            afterCommit(() -> cacheAndPublish(TaskChangeEvent.updated(updatedTask)));
+            log.debug("Task updated successfully with ID: {}", id);
+            return updatedTask;
+        } catch (TaskNotFoundException | TaskPreconditionFailedException e) {
+            throw e; // propagate as-is
+        } catch (Exception e) {
             log.error("Error occurred while saving task: {}", updatedData, e);  // Log error with exception details
             throw new TaskSaveException("Failed to save task", e);  // Throw custom exception
         }
+    }
 
+    /**
+     * Applies a partial update to an existing task. Only the non-null fields of {@code changes} are set.
+     *
+     * @param id task ID
+     * @param changes fields to change; null fields are left as they are
+     * @param expectedVersion version the task must still be at, or {@code null} to patch unconditionally
+     * @return the patched task
+     * @throws TaskNotFoundException if task does not exist
+     * @throws TaskPreconditionFailedException if the task is not at the expected version, or is modified concurrently
+     */
+    public TaskEntity patchTask(Long id, TaskEntity changes, Long expectedVersion) throws TaskSaveException {
+        try {
+            log.debug("Patching task with ID: {}, expected version: {}", id, expectedVersion);
+            TaskEntity task = taskStore.patch(id, changes, expectedVersion);
+            afterCommit(() -> cacheAndPublish(TaskChangeEvent.updated(task)));
+            log.debug("Task patched successfully with ID: {}", id);
+            return task;
+        } catch (TaskNotFoundException e) {
+            throw e; // propagate as-is
+        } catch (TaskPreconditionFailedException e) {
+            log.warn("Task with ID: {} is no longer at version: {}", id, expectedVersion);
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Task with ID: {} was modified concurrently", id);
+            throw new TaskPreconditionFailedException(id);
+        } catch (Exception e) {
+            log.error("Error occurred while patching task with ID: {}", id, e);
+            throw new TaskSaveException("Failed to patch task", e);
+        }
+    }
+
+    /**
+     * Updates a batch of existing tasks as one batch.
+     *
+     * @param updates updated task data keyed by task ID
+     * @return the updated tasks keyed by ID; IDs without an existing task are absent
+     * @throws TaskSaveException if any task could not be updated; no task is updated in that case
+     */
+    public Map<Long, TaskEntity> updateTasks(Map<Long, TaskEntity> updates) throws TaskSaveException {
+        try {
+            log.debug("Updating batch of {} tasks", updates.size());
+            Map<Long, TaskEntity> updatedTasks = taskStore.updateAll(updates);
+            afterCommit(() -> updatedTasks.values()
+                    .forEach(task -> cacheAndPublish(TaskChangeEvent.updated(task))));
+            log.debug("Batch update finished, {} of {} tasks found", updatedTasks.size(), updates.size());
+            return updatedTasks;
+        } catch (Exception e) {
+            log.error("Error occurred while updating batch of {} tasks", updates.size(), e);
+            throw new TaskSaveException("Failed to update tasks", e);
+        }
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a batch of tasks as one batch.
+     *
+     * @param ids task IDs
+     * @return the IDs that belonged to an existing task and were deleted
+     * @throws TaskDeletionException if unexpected error occurs during deletion
+     */
+    public Set<Long> deleteTasks(Collection<Long> ids) throws TaskDeletionException {
+        try {
+            log.debug("Deleting batch of {} tasks", ids.size());
+            List<Long> existingIds = taskStore.deleteAll(ids);
+            afterCommit(() -> {
+                existingIds.forEach(taskCache::invalidate);
+                existingIds.forEach(id -> eventPublisher.publishEvent(TaskChangeEvent.deleted(id)));
+            });
+            log.debug("Batch delete finished, {} of {} tasks found", existingIds.size(), ids.size());
+            return new HashSet<>(existingIds);
+        } catch (Exception e) {
+            log.error("Unexpected error while deleting batch of {} tasks", ids.size(), e);
+            throw new TaskDeletionException("Failed to delete tasks", e);
+        }
+    }
+
+    /**
+     * Deletes a task by its ID without reading it first.
      *
      * @param id task ID
      * @throws TaskNotFoundException if task does not exist
@@ -128,13 +330,14 @@ public class TaskDatabaseHelper {
      */
     public void deleteTaskById(Long id) throws TaskDeletionException {
         try {
-            log.info("Deleting task by ID: {}", id);
-            if (!taskRepository.existsById(id)) {
+            log.debug("Deleting task by ID: {}", id);
+            if (!taskStore.delete(id)) {
                 log.warn("Task not found for deletion with ID: {}", id);
                 throw new TaskNotFoundException(id);
             }
-            taskRepository.deleteById(id);
-            log.info("Task deleted successfully with ID: {}", id);
+            taskCache.invalidate(id);
+            eventPublisher.publishEvent(TaskChangeEvent.deleted(id));
+            log.debug("Task deleted successfully with ID: {}", id);
         } catch (TaskNotFoundException e) {
             throw e; // propagate as-is
         } catch (Exception e) {
@@ -142,4 +345,44 @@ public class TaskDatabaseHelper {
             throw new TaskDeletionException("Failed to delete task with ID: " + id, e);
         }
     }
+
+    /**
+     * Caches a task that was just written and tells the listeners about it.
+     */
+    private void cacheAndPublish(TaskChangeEvent event) {
+        taskCache.put(event.task());
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Runs the action once the caller's surrounding transaction has committed, or right away when there is
+     * none, so the cache never holds data that was rolled back. The store commits its own transaction before
+     * returning.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Resolves the task a page starts after. Sorting by ID only needs the ID itself;
+     * any other sort also needs the cursor task's sort value, which is usually cached.
+     */
+    private TaskEntity cursorOf(TaskQuery query) throws TaskRetrievalException {
+        if (query.getAfter() == null) {
+            return null;
+        }
+        if (query.getSortBy() == TaskSortField.ID) {
+            return TaskEntity.builder().id(query.getAfter()).build();
+        }
+        return findTaskById(query.getAfter());
+    }
 }
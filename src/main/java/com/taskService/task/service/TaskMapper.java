@@ -39,6 +39,7 @@
 
 package com.taskService.task.service;
 
+import com.taskService.task.dto.TaskPatchRequest;
 import com.taskService.task.dto.TaskRequest;
 import com.taskService.task.dto.TaskResponse;
 import com.taskService.task.entity.TaskEntity;
@@ -64,7 +65,22 @@ public class TaskMapper {
      * @return the mapped Task entity
      */
     public TaskEntity toEntity(TaskRequest request) {
-        log.debug("Mapping Task Request to Task Entity: {}", request);
+        log.trace("Mapping Task Request to Task Entity: {}", request);
+        return TaskEntity.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .dueDate(request.getDueDate())
+                .build();
+    }
+
+    /**
+     * Maps a TaskPatchRequest DTO to a Task entity holding only the fields to change; the others are null.
+     *
+     * @param request the incoming patch
+     * @return the changes as a Task entity
+     */
+    public TaskEntity toEntity(TaskPatchRequest request) {
+        log.trace("Mapping Task Patch Request to Task Entity: {}", request);
         return TaskEntity.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -79,13 +95,13 @@ public class TaskMapper {
      * @return the corresponding TaskResponse DTO
      */
     public TaskResponse toResponse(TaskEntity task) {
-        log.info("Mapping Task entity to TaskResponse for task id: {}", task.getId());
-        log.debug("Mapping Task entity to TaskResponse: {}", task);
+        log.trace("Mapping Task entity to TaskResponse: {}", task);
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
                 .dueDate(task.getDueDate())
+                .version(task.getVersion())
                 .build();
     }
 
@@ -96,7 +112,7 @@ public class TaskMapper {
      * @return a list of corresponding TaskResponse DTOs
      */
     public List<TaskResponse> toResponseList(List<TaskEntity> tasks) {
-        log.info("Mapping list of Task entities to list of TaskResponses. Count: {}", tasks.size());
+        log.debug("Mapping list of Task entities to list of TaskResponses. Count: {}", tasks.size());
         return tasks.stream()
                 .map(this::toResponse)
                 .toList();
@@ -1,15 +1,36 @@
 package com.taskService.task.service;
 
+import com.taskService.task.dto.TaskBatchResult;
+import com.taskService.task.dto.TaskBatchUpdateRequest;
+import com.taskService.task.dto.TaskPatchRequest;
+import com.taskService.task.dto.TaskQuery;
 import com.taskService.task.dto.TaskRequest;
 import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskStatsResponse;
+import com.taskService.task.due.TaskDueIndex;
+import com.taskService.task.due.TaskDueScheduler;
+import com.taskService.task.due.TaskDueStatistics;
+import com.taskService.task.entity.TaskEntity;
 import com.taskService.task.exception.TaskDeletionException;
+import com.taskService.task.exception.TaskNotFoundException;
 import com.taskService.task.exception.TaskRetrievalException;
 import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.search.TaskSearchIndex;
+import com.taskService.task.writebehind.TaskWriteBehindQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This is a service class consist business logic related to task service
@@ -23,36 +44,126 @@ public class TaskService {
 
     private final TaskDatabaseHelper taskDatabaseHelper;
     private final TaskMapper taskMapper;
+    private final TaskWriteBehindQueue writeBehindQueue;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskSingleFlight taskSingleFlight;
+    private final TaskDueIndex taskDueIndex;
+    private final TaskDueScheduler taskDueScheduler;
+    private final TaskDueStatistics taskDueStatistics;
 
     /**
-     * Creates a new task.
+     * Creates a new task. With write-behind enabled the task is only accepted here, and written shortly after.
      *
      * @param request task request object
      * @return the created task response
+     * @throws com.taskService.task.exception.TaskQueueFullException if write-behind is enabled and its queue is full
      */
     public TaskResponse createTask(TaskRequest request) throws TaskSaveException {
-        log.info("Creating task with given request: {}", request);
+        log.trace("Creating task with given request: {}", request);
+        if (writeBehindQueue.isEnabled()) {
+            return taskMapper.toResponse(writeBehindQueue.submit(taskMapper.toEntity(request)));
+        }
         return taskMapper.toResponse(taskDatabaseHelper.saveTask(taskMapper.toEntity(request)));
     }
 
     /**
-     * Retrieves all tasks.
+     * Whether {@link #createTask} only accepts tasks, rather than writing them before it returns.
+     */
+    public boolean isWriteBehindEnabled() {
+        return writeBehindQueue.isEnabled();
+    }
+
+    /**
+     * Retrieves one keyset page of tasks.
      *
+     * @param query filters, sort order and keyset position
      * @return list of task responses
      */
-    public List<TaskResponse> getAllTasks() throws TaskRetrievalException {
-        log.info("Fetching all tasks");
-        return taskMapper.toResponseList(taskDatabaseHelper.findAllTasks());
+    public List<TaskResponse> getTasks(TaskQuery query) throws TaskRetrievalException {
+        log.debug("Fetching tasks for query: {}", query);
+        return taskDatabaseHelper.findTasks(query);
+    }
+
+    /**
+     * Searches titles and descriptions for the given text.
+     *
+     * @param text search text
+     * @param offset number of best matches to skip
+     * @param limit maximum number of tasks to return
+     * @return matching tasks, best match first
+     */
+    public List<TaskResponse> searchTasks(String text, int offset, int limit) throws TaskRetrievalException {
+        log.debug("Searching tasks for: {}, offset: {}, limit: {}", text, offset, limit);
+        return taskDatabaseHelper.findTasksByIds(taskSearchIndex.search(text, offset, limit));
+    }
+
+    /**
+     * Retrieves one keyset page of the tasks due before the scheduler's current date, from the due date index.
+     *
+     * @param after ID of the last task of the previous page, or {@code null} for the first page
+     * @param limit maximum number of tasks to return
+     * @return overdue tasks ordered by due date and then ID
+     * @throws TaskNotFoundException if {@code after} is not a task with a due date
+     */
+    public List<TaskResponse> getOverdueTasks(Long after, int limit) throws TaskRetrievalException {
+        log.debug("Fetching overdue tasks after: {}, limit: {}", after, limit);
+        LocalDate afterDate = null;
+        if (after != null) {
+            afterDate = taskDueIndex.dueDate(after);
+            if (afterDate == null) {
+                throw new TaskNotFoundException(after);
+            }
+        }
+        return taskDatabaseHelper.findTasksByIds(taskDueIndex.dueBefore(taskDueScheduler.today(), afterDate, after, limit));
+    }
+
+    /**
+     * Retrieves one keyset page of the tasks due on a date, from the due date index.
+     *
+     * @param dueDate the due date
+     * @param after ID of the last task of the previous page, or {@code null} for the first page
+     * @param limit maximum number of tasks to return
+     * @return tasks due on the date ordered by ID
+     */
+    public List<TaskResponse> getTasksDueOn(LocalDate dueDate, Long after, int limit) throws TaskRetrievalException {
+        log.debug("Fetching tasks due on: {}, after: {}, limit: {}", dueDate, after, limit);
+        return taskDatabaseHelper.findTasksByIds(taskDueIndex.dueOn(dueDate, after, limit));
+    }
+
+    /**
+     * Returns task counts by due date, from counters rather than the database.
+     *
+     * @return the current counts
+     */
+    public TaskStatsResponse getStatistics() {
+        return taskDueStatistics.snapshot();
+    }
+
+    /**
+     * Streams all tasks one at a time, without materialising the full list.
+     *
+     * @param consumer receives each task response in turn
+     */
+    public void streamAllTasks(Consumer<TaskResponse> consumer) throws TaskRetrievalException {
+        log.debug("Streaming all tasks");
+        taskDatabaseHelper.streamAllTasks(consumer);
     }
 
     /**
-     * Retrieves task by ID.
+     * Retrieves task by ID. A task accepted for write-behind is served as accepted until it is written.
+     * Concurrent calls for the same ID share one lookup, and so one response object, which must not be
+     * modified.
      *
      * @param id task ID
      * @return task response
      */
     public TaskResponse getTaskById(Long id) throws TaskRetrievalException {
-        return taskMapper.toResponse(taskDatabaseHelper.findTaskById(id));
+        writeBehindQueue.checkNotFailed(id);
+        Optional<TaskEntity> accepted = writeBehindQueue.findPending(id);
+        if (accepted.isPresent()) {
+            return taskMapper.toResponse(accepted.get());
+        }
+        return taskSingleFlight.get(id, () -> taskMapper.toResponse(taskDatabaseHelper.findTaskById(id)));
     }
 
     /**
@@ -60,13 +171,27 @@ public class TaskService {
      *
      * @param id task ID
      * @param request updated task request
+     * @param expectedVersion version the task must still be at, or {@code null} to update unconditionally
      * @return updated task response
      */
-    public TaskResponse updateTask(Long id, TaskRequest request) throws TaskSaveException {
-        log.info("Updating task with ID: {}, new data: {}", id, request);
-         TaskResponse taskResponse = taskMapper.toResponse(taskDatabaseHelper.updateTask(id, taskMapper.toEntity(request)));
-         log.info("Task updated successfully with ID: {}", taskResponse.getId());
-         return taskResponse;
+    public TaskResponse updateTask(Long id, TaskRequest request, Long expectedVersion) throws TaskSaveException {
+        log.trace("Updating task with ID: {}, expected version: {}, new data: {}", id, expectedVersion, request);
+        awaitWritten(id);
+        return taskMapper.toResponse(taskDatabaseHelper.updateTask(id, taskMapper.toEntity(request), expectedVersion));
+    }
+
+    /**
+     * Applies a JSON Merge Patch to an existing task.
+     *
+     * @param id task ID
+     * @param request fields to change
+     * @param expectedVersion version the task must still be at, or {@code null} to patch unconditionally
+     * @return patched task response
+     */
+    public TaskResponse patchTask(Long id, TaskPatchRequest request, Long expectedVersion) throws TaskSaveException {
+        log.trace("Patching task with ID: {}, expected version: {}, changes: {}", id, expectedVersion, request);
+        awaitWritten(id);
+        return taskMapper.toResponse(taskDatabaseHelper.patchTask(id, taskMapper.toEntity(request), expectedVersion));
     }
 
     /**
@@ -75,6 +200,104 @@ public class TaskService {
      * @param id task ID
      */
     public void deleteTask(Long id) throws TaskDeletionException {
+        awaitWritten(id);
         taskDatabaseHelper.deleteTaskById(id);
     }
+
+    /**
+     * Creates a batch of tasks in one transaction.
+     *
+     * @param requests task request objects
+     * @return one result per request, in request order
+     */
+    public List<TaskBatchResult> createTasks(List<TaskRequest> requests) throws TaskSaveException {
+        log.debug("Creating batch of {} tasks", requests.size());
+        List<TaskEntity> savedTasks = taskDatabaseHelper.saveTasks(requests.stream().map(taskMapper::toEntity).toList());
+        return savedTasks.stream()
+                .map(task -> TaskBatchResult.builder()
+                        .id(task.getId())
+                        .status(HttpStatus.CREATED.value())
+                        .task(taskMapper.toResponse(task))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Updates a batch of tasks in one transaction. Items whose task does not exist are reported as not found.
+     * Only the first item for an ID is applied; later ones for the same ID are reported as duplicates.
+     *
+     * @param requests task IDs with their updated data
+     * @return one result per request, in request order
+     */
+    public List<TaskBatchResult> updateTasks(List<TaskBatchUpdateRequest> requests) throws TaskSaveException {
+        log.debug("Updating batch of {} tasks", requests.size());
+        Map<Long, TaskEntity> updates = new LinkedHashMap<>();
+        requests.forEach(request -> updates.putIfAbsent(request.getId(), taskMapper.toEntity(request.getTask())));
+        updates.keySet().forEach(writeBehindQueue::awaitWritten);
+        Map<Long, TaskEntity> updatedTasks = taskDatabaseHelper.updateTasks(updates);
+        Set<Long> reported = new HashSet<>();
+        return requests.stream()
+                .map(request -> {
+                    if (!reported.add(request.getId())) {
+                        return duplicate(request.getId());
+                    }
+                    TaskEntity task = updatedTasks.get(request.getId());
+                    return task == null
+                            ? notFound(request.getId())
+                            : TaskBatchResult.builder()
+                                    .id(task.getId())
+                                    .status(HttpStatus.OK.value())
+                                    .task(taskMapper.toResponse(task))
+                                    .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Deletes a batch of tasks. IDs without an existing task are reported as not found, and every occurrence
+     * of an ID after its first as a duplicate.
+     *
+     * @param ids task IDs
+     * @return one result per ID, in request order
+     */
+    public List<TaskBatchResult> deleteTasks(List<Long> ids) throws TaskDeletionException {
+        log.debug("Deleting batch of {} tasks", ids.size());
+        ids.forEach(writeBehindQueue::awaitWritten);
+        Set<Long> deletedIds = taskDatabaseHelper.deleteTasks(new LinkedHashSet<>(ids));
+        Set<Long> reported = new HashSet<>();
+        return ids.stream()
+                .map(id -> {
+                    if (!reported.add(id)) {
+                        return duplicate(id);
+                    }
+                    return deletedIds.contains(id)
+                            ? TaskBatchResult.builder().id(id).status(HttpStatus.NO_CONTENT.value()).build()
+                            : notFound(id);
+                })
+                .toList();
+    }
+
+    /**
+     * Lets a change to a task accepted for write-behind wait for its insert, and reports one given up on.
+     */
+    private void awaitWritten(Long id) {
+        writeBehindQueue.awaitWritten(id);
+        writeBehindQueue.checkNotFailed(id);
+    }
+
+    private static TaskBatchResult duplicate(Long id) {
+        return TaskBatchResult.builder()
+                .id(id)
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Task id " + id + " already appears earlier in the batch")
+                .build();
+    }
+
+    private static TaskBatchResult notFound(Long id) {
+        return TaskBatchResult.builder()
+                .id(id)
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(new TaskNotFoundException(id).getMessage())
+                .build();
+    }
 }
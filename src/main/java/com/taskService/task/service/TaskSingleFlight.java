@@ -0,0 +1,108 @@
+package com.taskService.task.service;
+
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.exception.TaskRetrievalException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class coalesces concurrent lookups of the same task: while one caller is loading a task, every other
+ * caller asking for the same ID waits for and shares its result, or its exception, instead of starting a
+ * lookup of its own. Nothing is kept once the lookup finishes; this is not a cache.
+ *
+ * <p>In-flight lookups live in a {@link ConcurrentHashMap}, so callers only contend when their IDs hash to
+ * the same bin, and a caller never holds a lock while the lookup runs.
+ */
+@Component
+public class TaskSingleFlight implements MeterBinder {
+
+    /**
+     * Loads one task response.
+     */
+    @FunctionalInterface
+    public interface Lookup {
+        TaskResponse load() throws TaskRetrievalException;
+    }
+
+    private final ConcurrentMap<Long, CompletableFuture<TaskResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the lookup for the task, unless one for the same ID is already running, in which case its
+     * outcome is shared. Callers must treat the returned response as read-only, since it may be shared.
+     *
+     * @param id task ID
+     * @param lookup loads the task when no lookup for it is running
+     * @return the task response
+     * @throws TaskRetrievalException if the lookup, this caller's or the shared one, failed with it
+     */
+    public TaskResponse get(Long id, Lookup lookup) throws TaskRetrievalException {
+        CompletableFuture<TaskResponse> call = new CompletableFuture<>();
+        CompletableFuture<TaskResponse> running = inFlight.putIfAbsent(id, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        executed.increment();
+        try {
+            TaskResponse response = lookup.load();
+            call.complete(response);
+            return response;
+        } catch (TaskRetrievalException | RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, call);
+        }
+    }
+
+    /**
+     * Publishes the number of lookups run and the number of calls that shared one as
+     * {@code task.single.flight.calls}, tagged {@code outcome=executed} and {@code outcome=coalesced}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.single.flight.calls", executed, LongAdder::sum)
+                .description("Task lookups, by whether they ran or shared an in-flight one")
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("task.single.flight.calls", coalesced, LongAdder::sum)
+                .description("Task lookups, by whether they ran or shared an in-flight one")
+                .tag("outcome", "coalesced")
+                .register(registry);
+    }
+
+    /**
+     * Number of calls that shared an in-flight lookup instead of running their own.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static TaskResponse await(CompletableFuture<TaskResponse> running) throws TaskRetrievalException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRetrievalException("Interrupted while waiting for a concurrent lookup", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TaskRetrievalException retrievalException) {
+                throw retrievalException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) cause;
+        }
+    }
+}
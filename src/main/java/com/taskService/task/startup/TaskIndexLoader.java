@@ -0,0 +1,83 @@
+package com.taskService.task.startup;
+
+import com.taskService.task.due.TaskDueIndex;
+import com.taskService.task.due.TaskDueStatistics;
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.search.TaskSearchIndex;
+import com.taskService.task.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the due date index, the due date statistics and the search index on startup from one pass over all
+ * tasks. None of them is trusted across restarts, so they cannot drift from the tasks in the database.
+ *
+ * <p>This runs as a lifecycle phase ahead of the web server's, so the build is finished before any request
+ * can change a task; from then on the updaters apply every committed change, and no change made during the
+ * build can be counted twice or undone by it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskIndexLoader implements SmartLifecycle {
+
+    /** The embedded web server starts in phase {@code DEFAULT_PHASE - 2048}. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final TaskService taskService;
+    private final TaskDueIndex taskDueIndex;
+    private final TaskDueStatistics taskDueStatistics;
+    private final TaskSearchIndex taskSearchIndex;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        long start = System.nanoTime();
+        LongAdder count = new LongAdder();
+        LongAdder withDueDate = new LongAdder();
+        try {
+            taskDueIndex.clear();
+            taskDueStatistics.clear();
+            taskSearchIndex.clear();
+            taskService.streamAllTasks(task -> {
+                taskDueStatistics.added(task.getDueDate());
+                if (task.getDueDate() != null) {
+                    taskDueIndex.put(task.getId(), task.getDueDate());
+                    withDueDate.increment();
+                }
+                taskSearchIndex.index(task.getId(), task.getTitle(), task.getDescription());
+                count.increment();
+            });
+            taskSearchIndex.compact();
+        } catch (TaskRetrievalException e) {
+            throw new IllegalStateException("Could not read the tasks to build the indexes from", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not build the search index", e);
+        }
+        running = true;
+        log.info("Due date index, statistics and search index built in {} ms: {} tasks, {} with a due date",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), count.sum(), withDueDate.sum());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskService.task.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.task.constants.Pagination;
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskSortField;
+import com.taskService.task.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the application up after startup. Application runners complete before Spring Boot publishes
+ * the readiness state, so the readiness probe only goes green once this is done.
+ *
+ * <p>The tasks due soonest, which are the ones most likely to be asked for, are loaded into the task
+ * cache; then the read paths of {@link TaskService}, including JSON encoding of the results, are called
+ * repeatedly so the JIT has compiled them before real traffic arrives. Nothing is written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "task.warm-up", name = "enabled", havingValue = "true")
+public class TaskWarmUp implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final TaskWarmUpProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            List<TaskResponse> hotTasks = preload();
+            exercise(hotTasks);
+            log.info("Warm-up finished in {} ms: {} tasks preloaded, {} iterations",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), hotTasks.size(), properties.getIterations());
+        } catch (Exception e) {
+            // a failed warm-up only costs latency, so it must not keep the application from starting
+            log.warn("Warm-up failed after {} ms, continuing without it",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e);
+        }
+    }
+
+    private List<TaskResponse> preload() throws Exception {
+        List<TaskResponse> hotTasks = new ArrayList<>(properties.getPreloadCount());
+        TaskQuery query = TaskQuery.builder()
+                .dueAfter(LocalDate.now().minusDays(1))
+                .sortBy(TaskSortField.DUE_DATE)
+                .limit(Math.min(properties.getPreloadCount(), Pagination.MAX_LIMIT))
+                .build();
+        while (hotTasks.size() < properties.getPreloadCount()) {
+            List<TaskResponse> page = taskService.getTasks(query);
+            for (TaskResponse task : page) {
+                if (hotTasks.size() < properties.getPreloadCount()) {
+                    taskService.getTaskById(task.getId());
+                    hotTasks.add(task);
+                }
+            }
+            if (page.size() < query.getLimit()) {
+                break;
+            }
+            query = query.toBuilder().after(page.get(page.size() - 1).getId()).build();
+        }
+        return hotTasks;
+    }
+
+    private void exercise(List<TaskResponse> hotTasks) throws Exception {
+        TaskSortField[] sortFields = TaskSortField.values();
+        for (int i = 0; i < properties.getIterations(); i++) {
+            TaskResponse cursor = hotTasks.isEmpty() ? null : hotTasks.get(i % hotTasks.size());
+            TaskQuery query = TaskQuery.builder()
+                    .after(cursor == null ? null : cursor.getId())
+                    .limit(PAGE_SIZE)
+                    .sortBy(sortFields[i % sortFields.length])
+                    .direction(i % 2 == 0 ? Sort.Direction.ASC : Sort.Direction.DESC)
+                    .build();
+            objectMapper.writeValueAsBytes(taskService.getTasks(query));
+            if (cursor != null) {
+                objectMapper.writeValueAsBytes(taskService.getTaskById(cursor.getId()));
+            }
+        }
+    }
+}
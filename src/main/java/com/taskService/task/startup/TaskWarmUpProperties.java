@@ -0,0 +1,21 @@
+package com.taskService.task.startup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the startup warm-up, bound from {@code task.warm-up.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.warm-up")
+public class TaskWarmUpProperties {
+
+    /** Whether to warm up before the application reports itself ready. */
+    private boolean enabled = false;
+
+    /** Number of tasks due soonest to load into the task cache. */
+    private int preloadCount = 1000;
+
+    /** Number of read calls made through the service to get its code paths compiled. */
+    private int iterations = 2000;
+}
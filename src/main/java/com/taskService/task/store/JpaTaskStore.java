@@ -0,0 +1,191 @@
+package com.taskService.task.store;
+
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+import com.taskService.task.repository.TaskRepository;
+import com.taskService.task.repository.TaskSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The default engine: tasks live in the database and are written through {@link TaskRepository}, with
+ * batched JDBC where Hibernate would get in the way. Batch writes each run in one transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "task.store", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTaskStore implements TaskStore {
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskIdAllocator taskIdAllocator;
+
+    @Override
+    public long nextId() {
+        return taskIdAllocator.nextId();
+    }
+
+    @Override
+    public TaskEntity save(TaskEntity task) {
+        return taskRepository.save(task);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<TaskEntity> saveAll(List<TaskEntity> tasks) {
+        return taskRepository.saveAllAndFlush(tasks);
+    }
+
+    /**
+     * Goes straight to JDBC because the entity's ID is sequence generated, so Hibernate would not keep a
+     * preassigned ID.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void insertAll(List<TaskEntity> tasks) {
+        jdbcTemplate.batchUpdate(
+                "insert into task_entity (id, title, description, due_date, version) values (?, ?, ?, ?, ?)",
+                tasks, tasks.size(), (statement, task) -> {
+                    statement.setLong(1, task.getId());
+                    statement.setString(2, task.getTitle());
+                    statement.setString(3, task.getDescription());
+                    statement.setDate(4, task.getDueDate() == null ? null : Date.valueOf(task.getDueDate()));
+                    statement.setLong(5, task.getVersion());
+                });
+    }
+
+    /**
+     * Selects straight into responses without hydrating entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> find(TaskQuery query, TaskEntity cursor) {
+        return taskRepository.findResponses(TaskSpecifications.matching(query, cursor),
+                TaskSpecifications.sortOf(query), query.getLimit());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findByIds(Collection<Long> ids) {
+        return taskRepository.findResponsesByIds(ids);
+    }
+
+    /**
+     * Rows are selected straight into responses, so the persistence context does not grow with the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<TaskResponse> consumer) {
+        try (Stream<TaskResponse> tasks = taskRepository.streamAllResponses()) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Long> countByDueDate() {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : taskRepository.countByDueDate()) {
+            counts.put((LocalDate) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
+    public Optional<TaskEntity> findById(Long id) {
+        return taskRepository.findById(id);
+    }
+
+    @Override
+    public boolean exists(Long id) {
+        return taskRepository.existsById(id);
+    }
+
+    /**
+     * A single UPDATE statement; the affected row count tells whether the task exists, so it is not read first.
+     * Without an expected version the new version is unknown, so it is read back in the same transaction,
+     * while the update still holds the row lock.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public OptionalLong update(Long id, TaskEntity data, Long expectedVersion) {
+        if (expectedVersion != null) {
+            int updatedRows = taskRepository.updateTaskIfVersion(id, expectedVersion, data.getTitle(),
+                    data.getDescription(), data.getDueDate());
+            return updatedRows > 0 ? OptionalLong.of(expectedVersion + 1) : OptionalLong.empty();
+        }
+        if (taskRepository.updateTask(id, data.getTitle(), data.getDescription(), data.getDueDate()) == 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(taskRepository.findVersion(id));
+    }
+
+    /**
+     * Loads the task and sets the changes on it; dirty checking then only writes the columns whose value
+     * actually changed, and the entity version guards against a concurrent write.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public TaskEntity patch(Long id, TaskEntity changes, Long expectedVersion) {
+        TaskEntity task = taskRepository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskPreconditionFailedException(id);
+        }
+        if (changes.getTitle() != null) {
+            task.setTitle(changes.getTitle());
+        }
+        if (changes.getDescription() != null) {
+            task.setDescription(changes.getDescription());
+        }
+        if (changes.getDueDate() != null) {
+            task.setDueDate(changes.getDueDate());
+        }
+        taskRepository.flush();
+        return task;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Map<Long, TaskEntity> updateAll(Map<Long, TaskEntity> updates) {
+        Map<Long, TaskEntity> updatedTasks = new HashMap<>();
+        for (TaskEntity existing : taskRepository.findAllById(updates.keySet())) {
+            TaskEntity updatedData = updates.get(existing.getId());
+            existing.setTitle(updatedData.getTitle());
+            existing.setDescription(updatedData.getDescription());
+            existing.setDueDate(updatedData.getDueDate());
+            updatedTasks.put(existing.getId(), existing);
+        }
+        taskRepository.flush();
+        return updatedTasks;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> existingIds = taskRepository.findExistingIds(ids);
+        taskRepository.deleteAllByIdInBatch(existingIds);
+        return existingIds;
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return taskRepository.deleteTask(id) > 0;
+    }
+}
@@ -0,0 +1,430 @@
+package com.taskService.task.store;
+
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskSortField;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An engine that keeps tasks on the heap. Each task is one encoded byte array in a {@link TaskRecordMap}, so
+ * a lookup is a hash probe and a decode, with no ORM, JDBC or connection pool involved.
+ *
+ * <p>With a data directory configured, every change also goes to a {@link TaskJournal} and a write returns
+ * only once its change is on disk. Readers do not wait for that: they see a change as soon as it is in the
+ * log's buffer, before the fsync, so a crash can lose a change that was read but never acknowledged to its
+ * writer. Once writing the log fails, every further write is rejected before it touches the map. A
+ * {@link TaskSnapshot} is taken periodically, when the log has grown large and on shutdown, after which the
+ * log it covers is deleted. At startup the latest snapshot is loaded, in parallel, and the log written after
+ * it is replayed on top.
+ *
+ * <p>Single-task writes are atomic. A batch is applied task by task, so a concurrent reader may see part of
+ * it; nothing in a batch can fail half way, though. Listings scan every task, decoding only those that can
+ * still make the page, and keep the best {@code limit} in a heap.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "task.store", name = "engine", havingValue = "memory")
+@EnableConfigurationProperties(TaskStoreProperties.class)
+public class MemoryTaskStore implements TaskStore, MeterBinder {
+
+    private final TaskRecordMap tasks;
+    private final AtomicLong lastId = new AtomicLong();
+    private final TaskStoreProperties properties;
+    private final TaskJournal journal;
+    private final ScheduledExecutorService snapshots;
+    private volatile long lastSnapshot = System.nanoTime();
+
+    public MemoryTaskStore(TaskStoreProperties properties) throws IOException {
+        this.tasks = new TaskRecordMap(properties.getInitialCapacity(), properties.getStripes());
+        this.properties = properties;
+        Path directory = properties.getDataDir();
+        if (directory == null) {
+            this.journal = null;
+            this.snapshots = null;
+            log.info("Tasks are kept in memory only and will not survive a restart");
+            return;
+        }
+        Files.createDirectories(directory);
+        long segment = recover(directory);
+        this.journal = TaskJournal.open(directory, segment + 1);
+        tasks.listen(journal);
+        this.snapshots = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("task-store-snapshot").daemon().factory());
+        snapshots.scheduleWithFixedDelay(this::snapshotIfDue, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public long nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    @Override
+    public TaskEntity save(TaskEntity task) {
+        TaskEntity saved = store(task);
+        sync();
+        return saved;
+    }
+
+    @Override
+    public List<TaskEntity> saveAll(List<TaskEntity> batch) {
+        List<TaskEntity> saved = batch.stream().map(this::store).toList();
+        sync();
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<TaskEntity> batch) {
+        for (TaskEntity task : batch) {
+            lastId.accumulateAndGet(task.getId(), Math::max);
+            tasks.put(task.getId(), TaskRecordCodec.encode(task));
+        }
+        sync();
+    }
+
+    @Override
+    public List<TaskResponse> find(TaskQuery query, TaskEntity cursor) {
+        Comparator<TaskResponse> order = orderOf(query);
+        TaskResponse after = cursor == null ? null : new TaskResponse(cursor.getId(), cursor.getTitle(),
+                cursor.getDescription(), cursor.getDueDate(), cursor.getVersion());
+        boolean byId = query.getSortBy() == TaskSortField.ID;
+        boolean ascending = query.getDirection().isAscending();
+        int limit = query.getLimit();
+        // the worst task of the page so far is at the head, ready to be replaced by a better one
+        PriorityQueue<TaskResponse> page = new PriorityQueue<>(limit + 1, order.reversed());
+        tasks.forEach((id, record) -> {
+            if (byId && (after != null && !precedes(after.getId(), id, ascending)
+                    || page.size() == limit && !precedes(id, page.peek().getId(), ascending))) {
+                return;
+            }
+            TaskResponse task = TaskRecordCodec.decode(id, record, TaskResponse::new);
+            if (!matches(task, query) || after != null && order.compare(task, after) <= 0) {
+                return;
+            }
+            page.offer(task);
+            if (page.size() > limit) {
+                page.poll();
+            }
+        });
+        List<TaskResponse> result = new ArrayList<>(page);
+        result.sort(order);
+        return result;
+    }
+
+    @Override
+    public List<TaskResponse> findByIds(Collection<Long> ids) {
+        List<TaskResponse> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            byte[] record = tasks.get(id);
+            if (record != null) {
+                found.add(TaskRecordCodec.decode(id, record, TaskResponse::new));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void forEach(Consumer<TaskResponse> consumer) {
+        for (long id : tasks.sortedIds()) {
+            byte[] record = tasks.get(id);
+            if (record != null) {
+                consumer.accept(TaskRecordCodec.decode(id, record, TaskResponse::new));
+            }
+        }
+    }
+
+    /**
+     * Reads only the due date of each task.
+     */
+    @Override
+    public Map<LocalDate, Long> countByDueDate() {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        tasks.forEach((id, record) -> counts.merge(TaskRecordCodec.dueDate(record), 1L, Long::sum));
+        return counts;
+    }
+
+    @Override
+    public Optional<TaskEntity> findById(Long id) {
+        byte[] record = tasks.get(id);
+        return record == null ? Optional.empty() : Optional.of(TaskRecordCodec.decode(id, record));
+    }
+
+    @Override
+    public boolean exists(Long id) {
+        return tasks.get(id) != null;
+    }
+
+    @Override
+    public OptionalLong update(Long id, TaskEntity data, Long expectedVersion) {
+        Long[] updatedVersion = new Long[1];
+        tasks.update(id, record -> {
+            Long version = TaskRecordCodec.version(record);
+            if (expectedVersion != null && !expectedVersion.equals(version)) {
+                return record;
+            }
+            updatedVersion[0] = next(version);
+            return TaskRecordCodec.encode(data.getTitle(), data.getDescription(), data.getDueDate(), updatedVersion[0]);
+        });
+        sync();
+        return updatedVersion[0] == null ? OptionalLong.empty() : OptionalLong.of(updatedVersion[0]);
+    }
+
+    /**
+     * Like the JPA engine, leaves the task and its version alone when no field actually changes.
+     */
+    @Override
+    public TaskEntity patch(Long id, TaskEntity changes, Long expectedVersion) {
+        TaskEntity[] patched = new TaskEntity[1];
+        byte[] result = tasks.update(id, record -> {
+            TaskEntity task = TaskRecordCodec.decode(id, record);
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw new TaskPreconditionFailedException(id);
+            }
+            TaskEntity changed = task.toBuilder()
+                    .title(changes.getTitle() != null ? changes.getTitle() : task.getTitle())
+                    .description(changes.getDescription() != null ? changes.getDescription() : task.getDescription())
+                    .dueDate(changes.getDueDate() != null ? changes.getDueDate() : task.getDueDate())
+                    .build();
+            if (changed.equals(task)) {
+                patched[0] = task;
+                return record;
+            }
+            changed.setVersion(next(task.getVersion()));
+            patched[0] = changed;
+            return TaskRecordCodec.encode(changed);
+        });
+        if (result == null) {
+            throw new TaskNotFoundException(id);
+        }
+        sync();
+        return patched[0];
+    }
+
+    @Override
+    public Map<Long, TaskEntity> updateAll(Map<Long, TaskEntity> updates) {
+        Map<Long, TaskEntity> updatedTasks = new HashMap<>();
+        updates.forEach((id, data) -> {
+            byte[] record = tasks.update(id, existing -> TaskRecordCodec.encode(data.getTitle(), data.getDescription(),
+                    data.getDueDate(), next(TaskRecordCodec.version(existing))));
+            if (record != null) {
+                updatedTasks.put(id, TaskRecordCodec.decode(id, record));
+            }
+        });
+        sync();
+        return updatedTasks;
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> deleted = ids.stream().distinct().filter(id -> tasks.remove(id) != null).toList();
+        sync();
+        return deleted;
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        boolean deleted = tasks.remove(id) != null;
+        sync();
+        return deleted;
+    }
+
+    /**
+     * Writes a snapshot and drops the log it covers, so the next startup has less to replay. Only available
+     * with a data directory.
+     */
+    public synchronized void snapshot() throws IOException {
+        long segment = journal.rotate();
+        long started = System.nanoTime();
+        long count = TaskSnapshot.write(properties.getDataDir(), segment, lastId.get(), tasks);
+        lastSnapshot = System.nanoTime();
+        deleteCoveredFiles(properties.getDataDir(), segment);
+        log.info("Wrote a snapshot of {} tasks in {} ms", count, TimeUnit.NANOSECONDS.toMillis(lastSnapshot - started));
+    }
+
+    /**
+     * Takes a last snapshot, so the next startup replays nothing, and closes the log.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        snapshots.shutdownNow();
+        try {
+            snapshots.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (journal.segmentSize() > 0) {
+                snapshot();
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    /**
+     * Publishes the number of stored tasks as {@code task.store.size}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.store.size", tasks, TaskRecordMap::size)
+                .description("Tasks held by the in-memory store")
+                .register(registry);
+    }
+
+    private TaskEntity store(TaskEntity task) {
+        TaskEntity saved = task.toBuilder().id(nextId()).version(0L).build();
+        tasks.put(saved.getId(), TaskRecordCodec.encode(saved));
+        return saved;
+    }
+
+    /**
+     * Waits for the changes made so far to be on disk, when there is a disk.
+     */
+    private void sync() {
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+
+    private void snapshotIfDue() {
+        long logSize = journal.segmentSize();
+        boolean due = System.nanoTime() - lastSnapshot >= properties.getSnapshotInterval().toNanos()
+                || logSize >= properties.getSnapshotLogSize().toBytes();
+        if (!due || logSize == 0) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("Writing a task snapshot failed; the log keeps growing until one succeeds", e);
+        }
+    }
+
+    /**
+     * Loads the latest snapshot and replays the log written after it.
+     *
+     * @return the last log segment recovered
+     */
+    private long recover(Path directory) throws IOException {
+        long started = System.nanoTime();
+        long segment = 0;
+        long restored = 0;
+        SortedMap<Long, Path> snapshots = TaskSnapshot.snapshots(directory);
+        if (!snapshots.isEmpty()) {
+            TaskSnapshot.Contents contents = TaskSnapshot.read(snapshots.get(snapshots.lastKey()), tasks);
+            segment = contents.segment();
+            restored = contents.tasks();
+            lastId.accumulateAndGet(contents.lastId(), Math::max);
+        }
+        long loaded = System.nanoTime();
+        long replayed = 0;
+        TaskRecordMap.Listener replay = new TaskRecordMap.Listener() {
+            @Override
+            public void stored(long id, byte[] record) {
+                tasks.put(id, record);
+                lastId.accumulateAndGet(id, Math::max);
+            }
+
+            @Override
+            public void removed(long id) {
+                tasks.remove(id);
+                lastId.accumulateAndGet(id, Math::max);
+            }
+        };
+        long covered = segment;
+        for (Map.Entry<Long, Path> entry : TaskJournal.segments(directory).entrySet()) {
+            if (entry.getKey() > covered) {
+                replayed += TaskJournal.replay(entry.getValue(), replay);
+                segment = entry.getKey();
+            }
+        }
+        deleteCoveredFiles(directory, covered);
+        long finished = System.nanoTime();
+        log.info("Recovered {} tasks from {} in {} ms: {} from the snapshot in {} ms, then {} logged changes in {} ms",
+                tasks.size(), directory, TimeUnit.NANOSECONDS.toMillis(finished - started), restored,
+                TimeUnit.NANOSECONDS.toMillis(loaded - started), replayed, TimeUnit.NANOSECONDS.toMillis(finished - loaded));
+        return segment;
+    }
+
+    /**
+     * Deletes the log segments a snapshot covers, and the snapshots before it.
+     */
+    private static void deleteCoveredFiles(Path directory, long segment) throws IOException {
+        for (Path file : TaskJournal.segments(directory).headMap(segment + 1).values()) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : TaskSnapshot.snapshots(directory).headMap(segment).values()) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static Long next(Long version) {
+        return version == null ? 0L : version + 1;
+    }
+
+    private static boolean precedes(long id, long other, boolean ascending) {
+        return ascending ? id < other : id > other;
+    }
+
+    /**
+     * Same semantics as the database: a task without a due date or title never matches a filter on it.
+     */
+    private static boolean matches(TaskResponse task, TaskQuery query) {
+        LocalDate dueDate = task.getDueDate();
+        if (query.getDueBefore() != null && (dueDate == null || !dueDate.isBefore(query.getDueBefore()))) {
+            return false;
+        }
+        if (query.getDueAfter() != null && (dueDate == null || !dueDate.isAfter(query.getDueAfter()))) {
+            return false;
+        }
+        String prefix = query.getTitlePrefix();
+        return prefix == null || prefix.isEmpty() || task.getTitle() != null && task.getTitle().startsWith(prefix);
+    }
+
+    /**
+     * Sort order of a query with ID as the tie breaker; nulls sort first when ascending, as in H2.
+     */
+    private static Comparator<TaskResponse> orderOf(TaskQuery query) {
+        Comparator<TaskResponse> byId = Comparator.comparing(TaskResponse::getId);
+        Comparator<TaskResponse> ascending = switch (query.getSortBy()) {
+            case ID -> byId;
+            case DUE_DATE -> Comparator.comparing(TaskResponse::getDueDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(byId);
+            case TITLE -> Comparator.comparing(TaskResponse::getTitle, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(byId);
+        };
+        return query.getDirection().isAscending() ? ascending : ascending.reversed();
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskService.task.store;
+
+import com.taskService.task.entity.TaskEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class hands out task IDs of the JPA engine ahead of the insert, from the same {@code task_seq} blocks
+ * Hibernate uses.
+ * Like Hibernate's pooled optimizer, a sequence value {@code v} reserves the IDs
+ * {@code v - allocationSize + 1 .. v}, so IDs from here never collide with IDs Hibernate assigns.
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.store", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskIdAllocator {
+
+    static final String SEQUENCE_NAME = "task_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next = 1;
+    private long last = 0;
+
+    public TaskIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+    }
+
+    /**
+     * Returns an unused task ID, reading the sequence once per {@value TaskEntity#ID_ALLOCATION_SIZE} IDs.
+     *
+     * @return the next task ID
+     */
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > last) {
+                Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+                last = value;
+                // the initial sequence value only reserves itself
+                next = Math.max(1, value - TaskEntity.ID_ALLOCATION_SIZE + 1);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
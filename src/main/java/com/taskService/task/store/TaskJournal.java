@@ -0,0 +1,341 @@
+package com.taskService.task.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The memory engine's write-ahead log: every change to its {@link TaskRecordMap} as one binary record,
+ * appended to a segment file through a {@link FileChannel}.
+ *
+ * <p>Appending only copies the record into a buffer. A single writer thread writes the buffer out and forces
+ * it to disk, so every change that arrives while one fsync is in progress shares the next one (group commit);
+ * {@link #sync()} waits until everything appended before it is on disk. A record is its length, a CRC32C of
+ * the rest, the change type, the task ID and the encoded task, so a record torn by a crash is recognised and
+ * replay stops there.
+ *
+ * <p>{@link #rotate()} moves on to a new segment. A snapshot taken after a rotation covers every change in
+ * the older segments, which can then be deleted.
+ */
+@Slf4j
+final class TaskJournal implements TaskRecordMap.Listener, Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d+)\\.log");
+    private static final byte STORED = 1;
+    private static final byte REMOVED = 2;
+    /** Type and ID, the part of a record before the encoded task. */
+    private static final int PREFIX = Byte.BYTES + Long.BYTES;
+    /** Anything longer is garbage from a torn write rather than a task. */
+    private static final int MAX_RECORD = 64 << 20;
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingWrites = lock.newCondition();
+    private final Condition written = lock.newCondition();
+    private final Thread writer;
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 20);
+    private ByteBuffer spare = ByteBuffer.allocate(1 << 20);
+    private long appended;
+    private long durable;
+    private long segment;
+    private boolean rotating;
+    private boolean closed;
+    private IOException failure;
+    /** Only touched by the writer thread, and by {@link #close()} once it has stopped. */
+    private FileChannel channel;
+    private volatile long segmentSize;
+
+    private TaskJournal(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = create(directory, segment);
+        this.writer = Thread.ofPlatform().name("task-log-writer").daemon().start(this::write);
+    }
+
+    /**
+     * Starts logging to a new segment with the given number, which must be higher than any existing one.
+     */
+    static TaskJournal open(Path directory, long segment) throws IOException {
+        return new TaskJournal(directory, segment);
+    }
+
+    /**
+     * @return the log segments in a directory by number, oldest first
+     */
+    static SortedMap<Long, Path> segments(Path directory) throws IOException {
+        SortedMap<Long, Path> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        }
+        return segments;
+    }
+
+    /**
+     * Applies the changes in one segment to a target in the order they were logged, up to the first record
+     * that is incomplete or fails its checksum.
+     *
+     * @return the number of changes applied
+     */
+    static long replay(Path file, TaskRecordMap.Listener target) throws IOException {
+        long changes = 0;
+        long offset = 0;
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return changes;
+                }
+                if (length < PREFIX || length > MAX_RECORD) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                int checksum;
+                try {
+                    checksum = in.readInt();
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                long id = ByteBuffer.wrap(body, Byte.BYTES, Long.BYTES).getLong();
+                if (body[0] == STORED) {
+                    target.stored(id, Arrays.copyOfRange(body, PREFIX, length));
+                } else {
+                    target.removed(id);
+                }
+                changes++;
+                offset += Integer.BYTES * 2 + length;
+            }
+        }
+        log.warn("Ignoring the torn end of task log {} after {} changes, from byte {}", file, changes, offset);
+        return changes;
+    }
+
+    @Override
+    public void stored(long id, byte[] record) {
+        append(STORED, id, record);
+    }
+
+    @Override
+    public void removed(long id) {
+        append(REMOVED, id, new byte[0]);
+    }
+
+    /**
+     * Waits until every change appended so far is on disk.
+     *
+     * @throws UncheckedIOException if the log could not be written; the log accepts no further changes then
+     */
+    void sync() {
+        lock.lock();
+        try {
+            long target = appended;
+            while (durable < target) {
+                checkUsable();
+                pendingWrites.signal();
+                written.awaitUninterruptibly();
+            }
+            checkUsable();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finishes the current segment and starts the next one; every change appended before the call is in the
+     * finished segment or an older one.
+     *
+     * @return the number of the finished segment
+     */
+    long rotate() {
+        lock.lock();
+        try {
+            checkUsable();
+            long finished = segment;
+            rotating = true;
+            pendingWrites.signal();
+            while (rotating) {
+                checkUsable();
+                written.awaitUninterruptibly();
+            }
+            return finished;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the bytes written to the current segment
+     */
+    long segmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Writes out what is still buffered and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            pendingWrites.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * Called with the stripe of the task locked, before the map changes, so it only copies the record into
+     * the buffer.
+     *
+     * @throws UncheckedIOException if the log could not be written, which rejects the change
+     */
+    private void append(byte type, long id, byte[] record) {
+        int length = PREFIX + record.length;
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, id));
+        crc.update(record);
+        lock.lock();
+        try {
+            checkUsable();
+            if (pending.remaining() < Integer.BYTES * 2 + length) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + Integer.BYTES * 2 + length));
+                larger.put(pending.flip());
+                pending = larger;
+            }
+            pending.putInt(length).putInt((int) crc.getValue()).put(type).putLong(id).put(record);
+            appended += Integer.BYTES * 2 + length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Task log could not be written", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Task log is closed");
+        }
+    }
+
+    private void write() {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            boolean rotate;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !rotating && !closed) {
+                    pendingWrites.awaitUninterruptibly();
+                }
+                if (pending.position() == 0 && !rotating) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                upTo = appended;
+                rotate = rotating;
+            } finally {
+                lock.unlock();
+            }
+            IOException error = null;
+            try {
+                if (batch.flip().hasRemaining()) {
+                    long size = batch.remaining();
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                    channel.force(false);
+                    segmentSize += size;
+                }
+                if (rotate) {
+                    FileChannel next = create(directory, segment + 1);
+                    channel.close();
+                    channel = next;
+                    segmentSize = 0;
+                }
+            } catch (IOException e) {
+                log.error("Writing the task log failed; no further task changes are accepted", e);
+                error = e;
+            }
+            lock.lock();
+            try {
+                spare = batch.clear();
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = upTo;
+                    if (rotate) {
+                        segment++;
+                        rotating = false;
+                    }
+                }
+                written.signalAll();
+                if (error != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static FileChannel create(Path directory, long segment) throws IOException {
+        Path file = directory.resolve("wal-%016d.log".formatted(segment));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory(directory);
+        return channel;
+    }
+
+    /**
+     * Makes a file created or renamed in a directory survive a crash; not every platform can open a
+     * directory, and those do not need it.
+     */
+    static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not force directory {}", directory, e);
+        }
+    }
+}
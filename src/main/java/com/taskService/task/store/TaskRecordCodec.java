@@ -0,0 +1,144 @@
+package com.taskService.task.store;
+
+import com.taskService.task.entity.TaskEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Encodes a task, less its ID, as one compact byte array: a flags byte saying which fields are present,
+ * then the version as a varint, the due date as a zigzag varint of its epoch day, and the title and
+ * description as length-prefixed UTF-8. A typical task takes its text plus about six bytes.
+ */
+final class TaskRecordCodec {
+
+    private static final int HAS_VERSION = 1;
+    private static final int HAS_DUE_DATE = 1 << 1;
+    private static final int HAS_TITLE = 1 << 2;
+    private static final int HAS_DESCRIPTION = 1 << 3;
+
+    /**
+     * Receives the fields of a decoded task; matches the all-args constructors of the entity and response.
+     */
+    @FunctionalInterface
+    interface Fields<T> {
+        T of(Long id, String title, String description, LocalDate dueDate, Long version);
+    }
+
+    private TaskRecordCodec() {
+        // Prevent instantiation
+    }
+
+    static byte[] encode(String title, String description, LocalDate dueDate, Long version) {
+        byte[] titleBytes = title == null ? null : title.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16
+                + (titleBytes == null ? 0 : titleBytes.length) + (descriptionBytes == null ? 0 : descriptionBytes.length));
+        out.write((version == null ? 0 : HAS_VERSION) | (dueDate == null ? 0 : HAS_DUE_DATE)
+                | (titleBytes == null ? 0 : HAS_TITLE) | (descriptionBytes == null ? 0 : HAS_DESCRIPTION));
+        if (version != null) {
+            writeVarLong(out, version);
+        }
+        if (dueDate != null) {
+            long epochDay = dueDate.toEpochDay();
+            writeVarLong(out, (epochDay << 1) ^ (epochDay >> 63));
+        }
+        writeBytes(out, titleBytes);
+        writeBytes(out, descriptionBytes);
+        return out.toByteArray();
+    }
+
+    static byte[] encode(TaskEntity task) {
+        return encode(task.getTitle(), task.getDescription(), task.getDueDate(), task.getVersion());
+    }
+
+    static <T> T decode(long id, byte[] record, Fields<T> fields) {
+        Reader in = new Reader(record);
+        int flags = record[in.position++];
+        Long version = (flags & HAS_VERSION) == 0 ? null : in.readVarLong();
+        LocalDate dueDate = (flags & HAS_DUE_DATE) == 0 ? null : in.readDate();
+        String title = (flags & HAS_TITLE) == 0 ? null : in.readString();
+        String description = (flags & HAS_DESCRIPTION) == 0 ? null : in.readString();
+        return fields.of(id, title, description, dueDate, version);
+    }
+
+    static TaskEntity decode(long id, byte[] record) {
+        return decode(id, record, TaskEntity::new);
+    }
+
+    /**
+     * Reads only the version of an encoded task.
+     */
+    static Long version(byte[] record) {
+        if ((record[0] & HAS_VERSION) == 0) {
+            return null;
+        }
+        Reader in = new Reader(record);
+        in.position = 1;
+        return in.readVarLong();
+    }
+
+    /**
+     * Reads only the due date of an encoded task.
+     */
+    static LocalDate dueDate(byte[] record) {
+        if ((record[0] & HAS_DUE_DATE) == 0) {
+            return null;
+        }
+        Reader in = new Reader(record);
+        in.position = 1;
+        if ((record[0] & HAS_VERSION) != 0) {
+            in.readVarLong();
+        }
+        return in.readDate();
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        if (bytes != null) {
+            writeVarLong(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+
+        private final byte[] record;
+        private int position;
+
+        private Reader(byte[] record) {
+            this.record = record;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = record[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        private LocalDate readDate() {
+            long zigzag = readVarLong();
+            return LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        private String readString() {
+            int length = (int) readVarLong();
+            String value = new String(record, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.taskService.task.store;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * A hash map from task ID to encoded task, keyed by primitive {@code long}. Keys and records sit in two
+ * parallel arrays with linear probing, so there is no boxed key and no entry object per task; deletes shift
+ * the following entries back instead of leaving tombstones.
+ *
+ * <p>The map is split into stripes by the high bits of the key's hash, each with its own
+ * {@link StampedLock}. Reads are optimistic and take no lock unless a write to the same stripe raced them;
+ * writes lock one stripe. Iteration locks one stripe at a time, so it is weakly consistent, like
+ * {@link java.util.concurrent.ConcurrentHashMap}'s. ID 0 marks an empty slot and cannot be stored.
+ */
+final class TaskRecordMap {
+
+    private static final float LOAD_FACTOR = 0.7f;
+
+    /**
+     * Receives one entry during iteration.
+     */
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long id, byte[] record);
+    }
+
+    /**
+     * Told about every change just before it is made, while the stripe is locked, so the changes to any one
+     * ID reach it in the order they are made. It may throw to reject a change; the map is left as it was then.
+     */
+    interface Listener {
+
+        void stored(long id, byte[] record);
+
+        void removed(long id);
+    }
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private volatile Listener listener;
+
+    TaskRecordMap(int initialCapacity, int stripeCount) {
+        int count = powerOfTwoAtLeast(stripeCount);
+        this.stripes = new Stripe[count];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+        int perStripe = (int) Math.ceil(Math.max(1, initialCapacity / count) / LOAD_FACTOR);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(8, powerOfTwoAtLeast(perStripe)));
+        }
+    }
+
+    /**
+     * Sets the listener told about every change from now on.
+     */
+    void listen(Listener listener) {
+        this.listener = listener;
+    }
+
+    byte[] get(long id) {
+        long hash = hash(id);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        byte[] record = stripe.find(id, hash);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                record = stripe.find(id, hash);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * @return the record previously stored under the ID, or {@code null}
+     */
+    byte[] put(long id, byte[] record) {
+        checkId(id);
+        long hash = hash(id);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Listener listener = this.listener;
+            if (listener != null) {
+                listener.stored(id, record);
+            }
+            return stripe.put(id, hash, record);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the record stored under an ID with the result of the function, atomically with respect to
+     * other writes. The function must not return {@code null}; it may return its argument to leave the
+     * record as it is, and may throw to abort.
+     *
+     * @return the record now stored, or {@code null} if there was none; the function is not called then
+     */
+    byte[] update(long id, UnaryOperator<byte[]> function) {
+        long hash = hash(id);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.slotOf(id, hash);
+            if (slot < 0) {
+                return null;
+            }
+            byte[] current = stripe.records[slot];
+            byte[] updated = function.apply(current);
+            Listener listener = this.listener;
+            if (updated != current && listener != null) {
+                listener.stored(id, updated);
+            }
+            stripe.records[slot] = updated;
+            return updated;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the removed record, or {@code null} if there was none
+     */
+    byte[] remove(long id) {
+        long hash = hash(id);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Listener listener = this.listener;
+            if (listener != null && stripe.slotOf(id, hash) >= 0) {
+                listener.removed(id);
+            }
+            return stripe.remove(id, hash);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    void forEach(Visitor visitor) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                long[] keys = stripe.keys;
+                byte[][] records = stripe.records;
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != 0) {
+                        visitor.visit(keys[i], records[i]);
+                    }
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * @return the IDs currently stored, in ascending order
+     */
+    long[] sortedIds() {
+        long[] ids = new long[size()];
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                if (count + stripe.size > ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(ids.length * 2, count + stripe.size));
+                }
+                for (long key : stripe.keys) {
+                    if (key != 0) {
+                        ids[count++] = key;
+                    }
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes[stripeShift == 64 ? 0 : (int) (hash >>> stripeShift)];
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static void checkId(long id) {
+        if (id == 0) {
+            throw new IllegalArgumentException("Task ID 0 cannot be stored");
+        }
+    }
+
+    /** The finalizer of MurmurHash3, so sequential IDs spread evenly over stripes and slots. */
+    private static long hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private long[] keys;
+        private byte[][] records;
+        private int size;
+        private int resizeAt;
+
+        private Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        /**
+         * Runs without a lock during an optimistic read, so it only relies on the two arrays having the same
+         * length and gives up after one pass; a torn result is discarded by the caller's validation.
+         */
+        private byte[] find(long id, long hash) {
+            long[] keys = this.keys;
+            byte[][] records = this.records;
+            if (keys.length != records.length) {
+                return null;
+            }
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long key = keys[slot];
+                if (key == id) {
+                    return records[slot];
+                }
+                if (key == 0) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private int slotOf(long id, long hash) {
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return slot;
+                }
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        private byte[] put(long id, long hash, byte[] record) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == id) {
+                    byte[] previous = records[slot];
+                    records[slot] = record;
+                    return previous;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            records[slot] = record;
+            if (++size > resizeAt) {
+                resize();
+            }
+            return null;
+        }
+
+        private byte[] remove(long id, long hash) {
+            int slot = slotOf(id, hash);
+            if (slot < 0) {
+                return null;
+            }
+            byte[] removed = records[slot];
+            int mask = keys.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                int home = (int) hash(keys[next]) & mask;
+                // an entry may fill the hole unless its home slot lies cyclically after the hole, up to itself
+                boolean homeAfterHole = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!homeAfterHole) {
+                    keys[hole] = keys[next];
+                    records[hole] = records[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = 0;
+            records[hole] = null;
+            size--;
+            return removed;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            byte[][] oldRecords = records;
+            allocate(oldKeys.length * 2);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = (int) hash(oldKeys[i]) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    records[slot] = oldRecords[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            records = new byte[capacity][];
+            resizeAt = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.taskService.task.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A point-in-time copy of every task in a {@link TaskRecordMap}, named after the last log segment it
+ * covers. The file is a header (magic, format, segment, last ID, chunk count, then each chunk's offset,
+ * length and task count) followed by the chunks, each a run of {@code id, record length, record}.
+ *
+ * <p>Chunks are independent, so they are written and read through their own memory-mapped buffers, in
+ * parallel. A snapshot is written under a temporary name and renamed once it is on disk, so one with the
+ * final name is always complete.
+ */
+final class TaskSnapshot {
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final int MAGIC = 0x54534e50;
+    private static final int FORMAT = 1;
+    private static final int CHUNK_TASKS = 1 << 16;
+    private static final int FIXED_HEADER = Integer.BYTES * 3 + Long.BYTES * 2;
+    private static final int CHUNK_HEADER = Long.BYTES * 2 + Integer.BYTES;
+    private static final int ENTRY_HEADER = Long.BYTES + Integer.BYTES;
+
+    /**
+     * What a snapshot held.
+     *
+     * @param segment the last log segment the snapshot covers
+     * @param lastId  the highest task ID handed out when it was taken
+     * @param tasks   the number of tasks in it
+     */
+    record Contents(long segment, long lastId, long tasks) {
+    }
+
+    private TaskSnapshot() {
+    }
+
+    /**
+     * @return the snapshots in a directory by the segment they cover, oldest first
+     */
+    static SortedMap<Long, Path> snapshots(Path directory) throws IOException {
+        SortedMap<Long, Path> snapshots = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    snapshots.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        }
+        return snapshots;
+    }
+
+    /**
+     * Copies the tasks out of the map and writes them to a new snapshot. Changes made while the map is being
+     * copied may or may not be in it; they must be in a log segment after {@code segment}.
+     *
+     * @return the number of tasks written
+     */
+    static long write(Path directory, long segment, long lastId, TaskRecordMap map) throws IOException {
+        // records are never changed in place, so holding on to them is as good as copying them
+        long[][] ids = {new long[map.size() + 1024]};
+        byte[][][] records = {new byte[ids[0].length][]};
+        int[] count = {0};
+        map.forEach((id, record) -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+                records[0] = Arrays.copyOf(records[0], count[0] * 2);
+            }
+            ids[0][count[0]] = id;
+            records[0][count[0]++] = record;
+        });
+
+        int chunks = (count[0] + CHUNK_TASKS - 1) / CHUNK_TASKS;
+        long[] offsets = new long[chunks + 1];
+        offsets[0] = FIXED_HEADER + (long) chunks * CHUNK_HEADER;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            long length = 0;
+            for (int i = chunk * CHUNK_TASKS; i < Math.min(count[0], (chunk + 1) * CHUNK_TASKS); i++) {
+                length += ENTRY_HEADER + records[0][i].length;
+            }
+            offsets[chunk + 1] = offsets[chunk] + length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate((int) offsets[0])
+                .putInt(MAGIC).putInt(FORMAT).putLong(segment).putLong(lastId).putInt(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            header.putLong(offsets[chunk])
+                    .putLong(offsets[chunk + 1] - offsets[chunk])
+                    .putInt(Math.min(CHUNK_TASKS, count[0] - chunk * CHUNK_TASKS));
+        }
+
+        Path temporary = directory.resolve("snapshot-%016d.tmp".formatted(segment));
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(header.flip(), 0);
+            unchecked(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_WRITE,
+                        offsets[chunk], offsets[chunk + 1] - offsets[chunk]);
+                for (int i = chunk * CHUNK_TASKS; i < Math.min(count[0], (chunk + 1) * CHUNK_TASKS); i++) {
+                    buffer.putLong(ids[0][i]).putInt(records[0][i].length).put(records[0][i]);
+                }
+                buffer.force();
+            }));
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve("snapshot-%016d.bin".formatted(segment)),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        TaskJournal.forceDirectory(directory);
+        return count[0];
+    }
+
+    /**
+     * Puts every task in a snapshot into the map.
+     *
+     * @throws IOException if the snapshot cannot be read or is not one
+     */
+    static Contents read(Path file, TaskRecordMap map) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer fixed = ByteBuffer.allocate(FIXED_HEADER);
+            if (size < FIXED_HEADER || channel.read(fixed, 0) < FIXED_HEADER
+                    || fixed.getInt(0) != MAGIC || fixed.getInt(Integer.BYTES) != FORMAT) {
+                throw new IOException("Not a task snapshot: " + file);
+            }
+            long segment = fixed.getLong(Integer.BYTES * 2);
+            long lastId = fixed.getLong(Integer.BYTES * 2 + Long.BYTES);
+            int chunks = fixed.getInt(Integer.BYTES * 2 + Long.BYTES * 2);
+            if (chunks < 0 || FIXED_HEADER + (long) chunks * CHUNK_HEADER > size) {
+                throw new IOException("Task snapshot is corrupt: " + file);
+            }
+            ByteBuffer table = ByteBuffer.allocate(chunks * CHUNK_HEADER);
+            channel.read(table, FIXED_HEADER);
+            table.flip();
+            long[] offsets = new long[chunks];
+            long[] lengths = new long[chunks];
+            int[] counts = new int[chunks];
+            long tasks = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk] = table.getLong();
+                lengths[chunk] = table.getLong();
+                counts[chunk] = table.getInt();
+                if (offsets[chunk] < 0 || lengths[chunk] < 0 || lengths[chunk] > Integer.MAX_VALUE
+                        || offsets[chunk] + lengths[chunk] > size) {
+                    throw new IOException("Task snapshot is corrupt: " + file);
+                }
+                tasks += counts[chunk];
+            }
+
+            AtomicLong highestId = new AtomicLong(lastId);
+            unchecked(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_ONLY, offsets[chunk], lengths[chunk]);
+                long highest = 0;
+                for (int i = 0; i < counts[chunk]; i++) {
+                    long id = buffer.getLong();
+                    int length = buffer.getInt();
+                    if (length < 0 || length > buffer.remaining()) {
+                        throw new UncheckedIOException(new IOException("Task snapshot is corrupt: " + file));
+                    }
+                    byte[] record = new byte[length];
+                    buffer.get(record);
+                    map.put(id, record);
+                    highest = Math.max(highest, id);
+                }
+                highestId.accumulateAndGet(highest, Math::max);
+            }));
+            return new Contents(segment, highestId.get(), tasks);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long offset, long length) {
+        try {
+            return channel.map(mode, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs a parallel stream, rethrowing what failed in it as the checked exception it was.
+     */
+    private static void unchecked(Runnable parallelWork) throws IOException {
+        try {
+            parallelWork.run();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            throw new IOException("Task snapshot is corrupt", e);
+        }
+    }
+}
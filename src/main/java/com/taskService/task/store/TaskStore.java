@@ -0,0 +1,118 @@
+package com.taskService.task.store;
+
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine behind {@link com.taskService.task.service.TaskDatabaseHelper}. The helper owns caching,
+ * change events and error translation; an engine only stores tasks and keeps their versions, so engines can
+ * be swapped with {@code task.store.engine} without touching anything above it.
+ *
+ * <p>Every write bumps the task's version, and new tasks start at version 0. Batch writes are all or nothing
+ * where the engine can roll back. Methods throw unchecked exceptions on failure.
+ */
+public interface TaskStore {
+
+    /**
+     * Reserves an ID for a task that will be inserted later with {@link #insertAll}.
+     */
+    long nextId();
+
+    /**
+     * Stores a new task, assigning its ID and initial version.
+     *
+     * @return the stored task
+     */
+    TaskEntity save(TaskEntity task);
+
+    /**
+     * Stores a batch of new tasks, assigning their IDs and initial versions.
+     *
+     * @return the stored tasks, in the same order
+     */
+    List<TaskEntity> saveAll(List<TaskEntity> tasks);
+
+    /**
+     * Stores a batch of new tasks whose IDs and versions were already assigned.
+     */
+    void insertAll(List<TaskEntity> tasks);
+
+    /**
+     * Returns one keyset page of tasks matching the query's filters, in the query's sort order.
+     *
+     * @param query filters, sort order and limit
+     * @param cursor the task the page starts after, with at least its ID and sort value, or {@code null}
+     * @return the tasks that follow the cursor
+     */
+    List<TaskResponse> find(TaskQuery query, TaskEntity cursor);
+
+    /**
+     * Returns the tasks with the given IDs, in no particular order; IDs without a task are skipped.
+     */
+    List<TaskResponse> findByIds(Collection<Long> ids);
+
+    /**
+     * Passes every task to the consumer, ordered by ID.
+     */
+    void forEach(Consumer<TaskResponse> consumer);
+
+    /**
+     * Counts the tasks per due date; tasks without a due date are counted under the {@code null} key.
+     */
+    Map<LocalDate, Long> countByDueDate();
+
+    Optional<TaskEntity> findById(Long id);
+
+    boolean exists(Long id);
+
+    /**
+     * Overwrites the title, description and due date of a task.
+     *
+     * @param expectedVersion version the task must still be at, or {@code null} to update unconditionally
+     * @return the version the task is now at; empty if the task does not exist or is at another version
+     */
+    OptionalLong update(Long id, TaskEntity data, Long expectedVersion);
+
+    /**
+     * Sets the non-null fields of {@code changes} on a task.
+     *
+     * @param expectedVersion version the task must still be at, or {@code null} to patch unconditionally
+     * @return the patched task
+     * @throws TaskNotFoundException if the task does not exist
+     * @throws TaskPreconditionFailedException if the task is at another version
+     */
+    TaskEntity patch(Long id, TaskEntity changes, Long expectedVersion);
+
+    /**
+     * Overwrites the title, description and due date of a batch of tasks.
+     *
+     * @param updates updated task data keyed by task ID
+     * @return the updated tasks keyed by ID; IDs without a task are absent
+     */
+    Map<Long, TaskEntity> updateAll(Map<Long, TaskEntity> updates);
+
+    /**
+     * Deletes a batch of tasks.
+     *
+     * @return those of the IDs that belonged to a task
+     */
+    List<Long> deleteAll(Collection<Long> ids);
+
+    /**
+     * Deletes a task.
+     *
+     * @return {@code false} if the task does not exist
+     */
+    boolean delete(Long id);
+}
@@ -0,0 +1,43 @@
+package com.taskService.task.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for the task storage engine, bound from {@code task.store.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.store")
+public class TaskStoreProperties {
+
+    public enum Engine {
+        /** Tasks live in the database, through JPA. */
+        JPA,
+        /** Tasks live on the heap, and on disk too if {@code data-dir} is set. */
+        MEMORY
+    }
+
+    private Engine engine = Engine.JPA;
+
+    /** Number of tasks the memory engine is sized for up front; it grows past that as needed. */
+    private int initialCapacity = 1 << 16;
+
+    /** Number of independently locked stripes of the memory engine; rounded up to a power of two. */
+    private int stripes = 64;
+
+    /**
+     * Directory of the memory engine's write-ahead log and snapshots. Unset, tasks are lost on restart;
+     * set, every write is on disk before it is acknowledged and the tasks are recovered at startup.
+     */
+    private Path dataDir;
+
+    /** How often the memory engine writes a snapshot and drops the log it covers. */
+    private Duration snapshotInterval = Duration.ofMinutes(10);
+
+    /** Size of the log that triggers a snapshot before the interval is up. */
+    private DataSize snapshotLogSize = DataSize.ofMegabytes(256);
+}
@@ -0,0 +1,170 @@
+package com.taskService.task.transfer;
+
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.dto.TaskResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tasks as comma-separated values (RFC 4180): a header line naming the columns, then one task per record.
+ * Fields holding a comma, quote or line break are quoted, with quotes doubled, so a quoted field may run over
+ * several lines. Dates are ISO dates; a missing value is an empty field.
+ */
+final class TaskCsv {
+
+    static final String[] HEADER = {"id", "title", "description", "dueDate", "version"};
+
+    private TaskCsv() {
+        // Prevent instantiation
+    }
+
+    static void writeHeader(Writer writer) throws IOException {
+        writer.write(String.join(",", HEADER));
+        writer.write('\n');
+    }
+
+    static void write(Writer writer, TaskResponse task) throws IOException {
+        writeField(writer, task.getId());
+        writer.write(',');
+        writeField(writer, task.getTitle());
+        writer.write(',');
+        writeField(writer, task.getDescription());
+        writer.write(',');
+        writeField(writer, task.getDueDate());
+        writer.write(',');
+        writeField(writer, task.getVersion());
+        writer.write('\n');
+    }
+
+    /**
+     * Tells whether a record is still inside a quoted field at the end of a line, and so continues on the next
+     * one. Every quote opens or closes a quoted field, a doubled one closing and reopening it.
+     *
+     * @param quoted whether the line started inside a quoted field
+     */
+    static boolean endsQuoted(String line, boolean quoted) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+
+    /**
+     * Splits a complete record into its fields, unquoting quoted ones.
+     *
+     * @throws IllegalArgumentException if a quoted field is not followed by a comma or the end of the record
+     */
+    static List<String> parse(String record) {
+        List<String> fields = new ArrayList<>(HEADER.length);
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < record.length() && record.charAt(i) == '"') {
+                i++;
+                while (i < record.length()) {
+                    char c = record.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < record.length() && record.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < record.length() && record.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected text after quoted field " + (fields.size() + 1));
+                }
+            } else {
+                int end = record.indexOf(',', i);
+                end = end < 0 ? record.length() : end;
+                field.append(record, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= record.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+
+    private static void writeField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!needsQuotes(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Where the imported fields are in a record, found by name in the header; other columns are ignored.
+     */
+    record Columns(int count, int title, int description, int dueDate) {
+
+        /**
+         * @throws IllegalArgumentException if the header lacks a column a task needs
+         */
+        static Columns of(List<String> header) {
+            List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            return new Columns(names.size(), indexOf(names, "title"), indexOf(names, "description"),
+                    indexOf(names, "dueDate"));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the record has the wrong number of fields or an invalid due date
+         */
+        TaskRequest toRequest(List<String> fields) {
+            if (fields.size() != count) {
+                throw new IllegalArgumentException("expected " + count + " fields but found " + fields.size());
+            }
+            String dueDate = fields.get(this.dueDate);
+            try {
+                return TaskRequest.builder()
+                        .title(emptyToNull(fields.get(title)))
+                        .description(emptyToNull(fields.get(description)))
+                        .dueDate(dueDate.isEmpty() ? null : LocalDate.parse(dueDate))
+                        .build();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("dueDate: not an ISO date: " + dueDate);
+            }
+        }
+
+        private static int indexOf(List<String> names, String column) {
+            int index = names.indexOf(column.toLowerCase(Locale.ROOT));
+            if (index < 0) {
+                throw new IllegalArgumentException("missing column: " + column);
+            }
+            return index;
+        }
+
+        private static String emptyToNull(String field) {
+            return field.isEmpty() ? null : field;
+        }
+    }
+}
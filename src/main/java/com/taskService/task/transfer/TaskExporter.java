@@ -0,0 +1,76 @@
+package com.taskService.task.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class writes every task out, ordered by ID, in one of the {@link TaskTransferFormat}s. Tasks come from
+ * a forward-only cursor over the store and each is written as soon as it is read, so an export of any size
+ * holds one task at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskExporter {
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all tasks to the stream, which is closed afterwards.
+     *
+     * @throws IOException if the stream could not be written to, e.g. because the client went away
+     * @throws TaskRetrievalException if the tasks could not be read
+     */
+    public void export(TaskTransferFormat format, OutputStream outputStream) throws IOException, TaskRetrievalException {
+        log.debug("Exporting all tasks as {}", format);
+        switch (format) {
+            case NDJSON -> exportNdjson(outputStream);
+            case CSV -> exportCsv(outputStream);
+        }
+    }
+
+    private void exportNdjson(OutputStream outputStream) throws IOException, TaskRetrievalException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            taskService.streamAllTasks(task -> {
+                try {
+                    generator.writeObject(task);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportCsv(OutputStream outputStream) throws IOException, TaskRetrievalException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            TaskCsv.writeHeader(writer);
+            taskService.streamAllTasks(task -> {
+                try {
+                    TaskCsv.write(writer, task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskService.task.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a request body one line at a time, holding no more than one line. A line longer than the maximum is
+ * skipped rather than read into memory, and reported as too long. Lines end with {@code \n} or {@code \r\n}.
+ */
+final class TaskImportLines implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Reader reader;
+    private final int maxLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private long number;
+    private boolean tooLong;
+
+    TaskImportLines(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return the next line without its line ending, empty if it is too long, or {@code null} at the end
+     */
+    String next() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = Math.max(reader.read(buffer, 0, buffer.length), 0);
+                position = 0;
+                if (limit == 0) {
+                    if (!read) {
+                        return null;
+                    }
+                    break;
+                }
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            append(start, position);
+            if (position < limit) {
+                position++;
+                break;
+            }
+        }
+        number++;
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        if (line.length() > maxLength) {
+            tooLong = true;
+            line.setLength(0);
+        }
+        return line.toString();
+    }
+
+    /**
+     * @return the number of the line last returned, counting from 1
+     */
+    long number() {
+        return number;
+    }
+
+    /**
+     * @return whether the line last returned was too long, and so skipped
+     */
+    boolean isTooLong() {
+        return tooLong;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(int start, int end) {
+        if (tooLong) {
+            return;
+        }
+        // one more than the maximum leaves room for a \r before the \n
+        if (line.length() + end - start > maxLength + 1) {
+            tooLong = true;
+            line.setLength(0);
+            return;
+        }
+        line.append(buffer, start, end - start);
+    }
+}
@@ -0,0 +1,200 @@
+package com.taskService.task.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.taskService.task.constants.BatchLimits;
+import com.taskService.task.dto.TaskImportError;
+import com.taskService.task.dto.TaskImportResult;
+import com.taskService.task.dto.TaskRequest;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.service.TaskDatabaseHelper;
+import com.taskService.task.service.TaskMapper;
+import com.taskService.task.store.TaskStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This class imports tasks from a request body while it arrives, one line at a time, so an import of any size
+ * holds one insert batch. Every line is checked against the constraints of {@link TaskRequest}; lines that
+ * fail are reported and skipped, and the others are created as new tasks, with new IDs. Like write-behind,
+ * IDs are reserved up front so that each batch of {@value BatchLimits#IMPORT_BATCH_SIZE} tasks is written as
+ * one batch insert.
+ *
+ * <p>Each batch commits on its own: if one cannot be written the import stops, and the batches before it are
+ * kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskImporter {
+
+    private final TaskStore taskStore;
+    private final TaskDatabaseHelper taskDatabaseHelper;
+    private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a task for every valid line of the body.
+     *
+     * @param format the format of the body
+     * @param body UTF-8 text, one task per line or, for CSV, per record after the header
+     * @return the number of tasks created, and the lines rejected
+     * @throws TaskSaveException if the body could not be read or a batch could not be written
+     */
+    public TaskImportResult importTasks(TaskTransferFormat format, InputStream body) throws TaskSaveException {
+        log.debug("Importing tasks as {}", format);
+        Import tasks = new Import();
+        try (TaskImportLines lines = new TaskImportLines(new InputStreamReader(body, StandardCharsets.UTF_8),
+                BatchLimits.MAX_IMPORT_LINE_LENGTH)) {
+            switch (format) {
+                case NDJSON -> importNdjson(lines, tasks);
+                case CSV -> importCsv(lines, tasks);
+            }
+        } catch (IOException e) {
+            log.error("Error occurred while reading tasks to import after {} tasks", tasks.imported, e);
+            throw new TaskSaveException("Failed to read the tasks to import", e);
+        }
+        tasks.flush();
+        log.debug("Imported {} tasks, rejected {} lines", tasks.imported, tasks.rejected);
+        return TaskImportResult.builder()
+                .imported(tasks.imported)
+                .rejected(tasks.rejected)
+                .errors(tasks.errors)
+                .build();
+    }
+
+    private void importNdjson(TaskImportLines lines, Import tasks) throws IOException, TaskSaveException {
+        ObjectReader reader = objectMapper.readerFor(TaskRequest.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        for (String line = lines.next(); line != null; line = lines.next()) {
+            if (lines.isTooLong()) {
+                tasks.reject(lines.number(), tooLongError());
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            TaskRequest request;
+            try {
+                request = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                tasks.reject(lines.number(), "invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (request == null) {
+                tasks.reject(lines.number(), "invalid JSON: expected an object");
+                continue;
+            }
+            tasks.add(lines.number(), request);
+        }
+    }
+
+    private void importCsv(TaskImportLines lines, Import tasks) throws IOException, TaskSaveException {
+        String header = lines.next();
+        if (header == null) {
+            return;
+        }
+        TaskCsv.Columns columns;
+        try {
+            // a byte order mark is only allowed at the very start
+            columns = TaskCsv.Columns.of(TaskCsv.parse(header.startsWith("\uFEFF") ? header.substring(1) : header));
+        } catch (IllegalArgumentException e) {
+            tasks.reject(lines.number(), e.getMessage());
+            return;
+        }
+        for (String line = lines.next(); line != null; line = lines.next()) {
+            long number = lines.number();
+            boolean tooLong = lines.isTooLong();
+            boolean quoted = TaskCsv.endsQuoted(line, false);
+            String record = line;
+            if (quoted) {
+                StringBuilder continued = new StringBuilder(line);
+                while (quoted && (line = lines.next()) != null) {
+                    tooLong |= lines.isTooLong()
+                            || continued.length() + 1 + line.length() > BatchLimits.MAX_IMPORT_LINE_LENGTH;
+                    if (!tooLong) {
+                        continued.append('\n').append(line);
+                    }
+                    quoted = TaskCsv.endsQuoted(line, quoted);
+                }
+                record = continued.toString();
+            }
+            if (tooLong) {
+                tasks.reject(number, tooLongError());
+            } else if (quoted) {
+                tasks.reject(number, "quoted field is not closed before the end of the body");
+            } else if (!record.isBlank()) {
+                try {
+                    tasks.add(number, columns.toRequest(TaskCsv.parse(record)));
+                } catch (IllegalArgumentException e) {
+                    tasks.reject(number, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String tooLongError() {
+        return "longer than " + BatchLimits.MAX_IMPORT_LINE_LENGTH + " characters";
+    }
+
+    /**
+     * The tasks of an import not yet written, and the counts so far.
+     */
+    private final class Import {
+
+        private final List<TaskImportError> errors = new ArrayList<>();
+        private List<TaskEntity> batch = new ArrayList<>(BatchLimits.IMPORT_BATCH_SIZE);
+        private long imported;
+        private long rejected;
+
+        private void add(long line, TaskRequest request) throws TaskSaveException {
+            Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            TaskEntity task = taskMapper.toEntity(request);
+            task.setId(taskStore.nextId());
+            task.setVersion(0L);
+            batch.add(task);
+            if (batch.size() == BatchLimits.IMPORT_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(long line, String error) {
+            rejected++;
+            if (errors.size() < BatchLimits.MAX_IMPORT_ERRORS) {
+                errors.add(new TaskImportError(line, error));
+            }
+        }
+
+        private void flush() throws TaskSaveException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            taskDatabaseHelper.insertTasks(batch);
+            imported += batch.size();
+            batch = new ArrayList<>(BatchLimits.IMPORT_BATCH_SIZE);
+        }
+    }
+}
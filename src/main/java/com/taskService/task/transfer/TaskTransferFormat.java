@@ -0,0 +1,39 @@
+package com.taskService.task.transfer;
+
+import com.taskService.task.constants.MediaTypes;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The formats tasks are exported and imported in, one task per line, always in UTF-8.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskTransferFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType(MediaType.parseMediaType(MediaTypes.CSV_VALUE), StandardCharsets.UTF_8));
+
+    private final String value;
+    private final MediaType mediaType;
+
+    public static TaskTransferFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.value.equals(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported format: " + value));
+    }
+
+    /**
+     * @return the format of a request body of the given content type
+     */
+    public static TaskTransferFormat fromMediaType(MediaType mediaType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.isCompatibleWith(mediaType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported content type: " + mediaType));
+    }
+}
@@ -0,0 +1,153 @@
+package com.taskService.task.web;
+
+import com.taskService.task.constants.Endpoints;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This filter caps the number of task API requests handled at once, and sheds whatever is over the cap
+ * straight away with 503 and {@code Retry-After} instead of letting it queue for a database connection.
+ *
+ * <p>The cap adapts by additive increase, multiplicative decrease: every request that finishes within the
+ * latency target while the cap was at least half used raises it by {@code 1/limit}, so by about one per
+ * round of requests, and a request that is slower than the target or fails with a server error cuts it by
+ * the backoff ratio. Cuts are at most one per latency target, so a burst of slow requests that were all in
+ * flight together counts as one sign of overload rather than many.
+ *
+ * <p>A request that goes async, such as an event stream or an NDJSON export, gives its slot back when the
+ * servlet thread is released and is not used as a latency sample. Neither is an import, which takes as long as
+ * its body.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final ConcurrencyLimitProperties properties;
+    private final long latencyTargetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private double limit;
+    private long lastBackoff;
+    private volatile int currentLimit;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.latencyTargetNanos = properties.getLatencyTarget().toNanos();
+        this.limit = properties.getInitialLimit();
+        this.currentLimit = properties.getInitialLimit();
+        this.lastBackoff = System.nanoTime() - latencyTargetNanos;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !request.getRequestURI().startsWith(request.getContextPath() + Endpoints.BASE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int inFlightBefore = tryAcquire();
+        if (inFlightBefore < 0) {
+            log.debug("Concurrency limit of {} reached, shedding request", currentLimit);
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Server is at capacity, retry later");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            inFlight.decrementAndGet();
+            if (!request.isAsyncStarted()
+                    && !request.getRequestURI().equals(request.getContextPath() + Endpoints.BASE + Endpoints.IMPORT_TASKS)) {
+                onSample(inFlightBefore, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * Current number of requests allowed in flight.
+     */
+    public int currentLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * Publishes the limit as {@code task.concurrency.limit}, the requests in flight as
+     * {@code task.concurrency.in.flight} and the number of requests shed as
+     * {@code task.requests.rejected{reason=concurrency-limit}}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.concurrency.limit", this, ConcurrencyLimitFilter::currentLimit)
+                .description("Task API requests allowed in flight")
+                .register(registry);
+        Gauge.builder("task.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Task API requests in flight")
+                .register(registry);
+        FunctionCounter.builder("task.requests.rejected", rejected, LongAdder::sum)
+                .tag("reason", "concurrency-limit")
+                .description("Requests rejected before reaching the task API")
+                .register(registry);
+    }
+
+    /**
+     * Takes a slot if one is free.
+     *
+     * @return the number of requests in flight before this one, or -1 if the limit was reached
+     */
+    private int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    private synchronized void onSample(int inFlightBefore, long latencyNanos, boolean failed) {
+        long now = System.nanoTime();
+        if (failed || latencyNanos > latencyTargetNanos) {
+            if (now - lastBackoff >= latencyTargetNanos) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                lastBackoff = now;
+                log.debug("Concurrency limit lowered to {}", (int) limit);
+            }
+        } else if (inFlightBefore + 1 >= limit / 2) {
+            limit = Math.min(properties.getMaxLimit(), limit + 1 / limit);
+        }
+        currentLimit = (int) limit;
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskService.task.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the adaptive limit on requests the task API handles at once, bound from
+ * {@code task.concurrency-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /** Whether the number of requests in flight is limited at all. */
+    private boolean enabled = true;
+
+    /** Limit to start from. */
+    private int initialLimit = 20;
+
+    /** Lowest the limit can shrink to. */
+    private int minLimit = 2;
+
+    /** Highest the limit can grow to; no point in going beyond the Tomcat thread pool. */
+    private int maxLimit = 200;
+
+    /** Latency above which a request counts as a sign of overload. */
+    private Duration latencyTarget = Duration.ofMillis(500);
+
+    /** Factor the limit is multiplied by on a sign of overload. */
+    private double backoffRatio = 0.9;
+}
@@ -0,0 +1,67 @@
+package com.taskService.task.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * This filter tags every request with a correlation ID, taken from the {@value #HEADER} request header
+ * when the caller sends a well-formed one and generated otherwise. The ID is put in the logging MDC
+ * under {@value #MDC_KEY} for the duration of the request and echoed back in the response header.
+ *
+ * <p>Streaming responses are finished in an async dispatch, which goes through this filter again. The ID
+ * chosen on the first dispatch is kept in a request attribute, so the async dispatch logs under the same
+ * one the client was already sent.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final String ATTRIBUTE = CorrelationIdFilter.class.getName() + ".correlationId";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = (String) request.getAttribute(ATTRIBUTE);
+        if (correlationId == null) {
+            correlationId = correlationIdOf(request);
+            request.setAttribute(ATTRIBUTE, correlationId);
+        }
+        MDC.put(MDC_KEY, correlationId);
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, correlationId);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private static String correlationIdOf(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header != null && VALID_ID.matcher(header).matches()) {
+            return header;
+        }
+        return UUID.randomUUID().toString();
+    }
+}
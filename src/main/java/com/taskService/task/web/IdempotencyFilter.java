@@ -0,0 +1,321 @@
+package com.taskService.task.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.task.constants.Endpoints;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * This filter makes mutating requests that carry an {@value #HEADER} header safe to retry. The first request
+ * with a key runs as usual and its response is remembered; a retry with the same key gets that response
+ * replayed, marked with {@value #REPLAYED_HEADER}, without running again. A retry that arrives while the
+ * original is still running waits for it instead of racing it.
+ *
+ * <p>A key is tied to the method, path, query, If-Match header and body of its first request; reusing it for a different
+ * request is rejected with 422. Server errors are not remembered, so a request that failed that way can be
+ * retried with the same key. Requests without the header are not affected, and neither are imports, whose
+ * bodies are streamed rather than buffered.
+ *
+ * <p>Memory is bounded three ways: a body over {@code max-body-size} is rejected with 413 before it is read,
+ * only the status of a response over {@code max-response-size} is remembered, and keys are forgotten once
+ * the responses remembered take up more than {@code max-memory}. A key whose request is still running weighs
+ * nothing, so it is never forgotten for lack of memory and a retry cannot run the request a second time.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String CACHE_NAME = "idempotency";
+    private static final Pattern VALID_KEY = Pattern.compile("[\\x21-\\x7E]{1,255}");
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> REPLAYED_HEADERS =
+            List.of(HttpHeaders.ETAG, HttpHeaders.LOCATION, HttpHeaders.LINK);
+    /** Rough size of a remembered key apart from its response body: the entry, claim, fingerprint and headers. */
+    private static final int CLAIM_OVERHEAD = 512;
+
+    private final Cache<String, Claim> claims;
+    private final long waitTimeoutMillis;
+    private final long maxBodySize;
+    private final long maxResponseSize;
+    private final LongAdder replayed = new LongAdder();
+
+    public IdempotencyFilter(IdempotencyProperties properties) {
+        this.claims = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher((String key, Claim claim) -> claim.response().isDone()
+                        ? CLAIM_OVERHEAD + key.length() + claim.bodySize()
+                        : 0)
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.waitTimeoutMillis = properties.getWaitTimeout().toMillis();
+        this.maxBodySize = properties.getMaxBodySize().toBytes();
+        this.maxResponseSize = properties.getMaxResponseSize().toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null || !MUTATING_METHODS.contains(request.getMethod())
+                || request.getRequestURI().equals(request.getContextPath() + Endpoints.BASE + Endpoints.IMPORT_TASKS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!VALID_KEY.matcher(key).matches()) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to 255 visible ASCII characters");
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxBodySize
+                ? null
+                : request.getInputStream().readNBytes((int) Math.min(maxBodySize + 1, Integer.MAX_VALUE));
+        if (body == null || body.length > maxBodySize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "A request with an " + HEADER + " must not have a body over " + maxBodySize + " bytes");
+            return;
+        }
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request, body);
+        String fingerprint = fingerprintOf(bufferedRequest);
+        while (true) {
+            Claim claim = new Claim(fingerprint, new CompletableFuture<>());
+            Claim existing = claims.asMap().putIfAbsent(key, claim);
+            if (existing == null) {
+                execute(key, claim, bufferedRequest, response, filterChain);
+                return;
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                log.warn("Idempotency key reused for a different request: {}", key);
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used for a different request");
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = existing.response().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null && stored.body() == null) {
+                reject(response, HttpStatus.CONFLICT, "The response to the request with this " + HEADER
+                        + " had status " + stored.status() + " but was too large to be kept for replay");
+                return;
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // the original was not remembered; run this request in its place
+        }
+    }
+
+    /**
+     * Publishes the size and hit, miss and eviction counters of the key store as {@code cache.*} meters,
+     * and the number of replayed responses as {@code task.idempotency.replayed}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, claims, CACHE_NAME);
+        FunctionCounter.builder("task.idempotency.replayed", replayed, LongAdder::sum)
+                .description("Responses replayed for a retried idempotency key")
+                .register(registry);
+    }
+
+    private void execute(String key, Claim claim, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() < 500) {
+                stored = StoredResponse.of(responseWrapper, maxResponseSize);
+            }
+        } finally {
+            claim.response().complete(stored);
+            if (stored == null) {
+                claims.asMap().remove(key, claim);
+            } else {
+                // weigh the claim now that its response is known; while running it weighed nothing
+                claims.asMap().replace(key, claim, claim);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        log.debug("Replaying response with status {} for a retried idempotency key", stored.status());
+        replayed.increment();
+        response.setStatus(stored.status());
+        stored.headers().forEach(response::setHeader);
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static String fingerprintOf(BufferedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n'
+                    + request.getHeader(HttpHeaders.IF_MATCH) + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(request.body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A request whose key was claimed, and the response it ends with; completed with {@code null} when
+     * the response is not remembered.
+     */
+    private record Claim(String fingerprint, CompletableFuture<StoredResponse> response) {
+
+        private int bodySize() {
+            StoredResponse stored = response.getNow(null);
+            return stored == null || stored.body() == null ? 0 : stored.body().length;
+        }
+    }
+
+    /**
+     * A response remembered for replay; its body is {@code null} when it was too large to be kept.
+     */
+    private record StoredResponse(int status, String contentType, Map<String, String> headers, byte[] body) {
+
+        static StoredResponse of(ContentCachingResponseWrapper response, long maxSize) {
+            if (response.getContentSize() > maxSize) {
+                return new StoredResponse(response.getStatus(), null, Map.of(), null);
+            }
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : REPLAYED_HEADERS) {
+                String value = response.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            return new StoredResponse(response.getStatus(), response.getContentType(), headers,
+                    response.getContentAsByteArray());
+        }
+    }
+
+    /**
+     * A request whose body was read up front, so it can be fingerprinted and still be read by the controller.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so the listener is told right away that all of it can be read.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8.name() : encoding));
+        }
+    }
+}
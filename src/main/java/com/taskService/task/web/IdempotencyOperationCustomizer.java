@@ -0,0 +1,49 @@
+package com.taskService.task.web;
+
+import com.taskService.task.constants.Endpoints;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Documents the {@value IdempotencyFilter#HEADER} header, and the responses it can lead to, on every
+ * mutating operation, since {@link IdempotencyFilter} handles it before any controller sees the request.
+ */
+@Component
+public class IdempotencyOperationCustomizer implements OperationCustomizer {
+
+    private static final Set<RequestMethod> MUTATING_METHODS =
+            Set.of(RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE);
+
+    @Override
+    public Operation customize(Operation operation, HandlerMethod handlerMethod) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequestMapping.class);
+        if (mapping == null || Arrays.stream(mapping.method()).noneMatch(MUTATING_METHODS::contains)
+                || Arrays.asList(mapping.path()).contains(Endpoints.IMPORT_TASKS)) {
+            return operation;
+        }
+        operation.addParametersItem(new HeaderParameter()
+                .name(IdempotencyFilter.HEADER)
+                .description("Client-chosen key, 1 to 255 visible ASCII characters. A retry with the same key gets "
+                        + "the original response replayed instead of being applied again.")
+                .schema(new StringSchema()));
+        if (operation.getResponses() == null) {
+            operation.setResponses(new ApiResponses());
+        }
+        operation.getResponses()
+                .addApiResponse("409", new ApiResponse().description("The original request with this key is still running"))
+                .addApiResponse("422", new ApiResponse().description("The key was already used for a different request"));
+        return operation;
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskService.task.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration for idempotency keys on mutating requests, bound from {@code task.idempotency.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Memory the remembered keys and responses may take up; the least recently used keys are forgotten first.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(64);
+
+    /** Largest request body taken with an idempotency key; it is held in memory to fingerprint it. */
+    private DataSize maxBodySize = DataSize.ofMegabytes(2);
+
+    /**
+     * Largest response remembered for replay. For a larger one only the status is remembered, and a retry
+     * gets 409 rather than running again.
+     */
+    private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+
+    /** How long the response to a key is remembered. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** How long a retry waits for the original request with the same key to finish before getting 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
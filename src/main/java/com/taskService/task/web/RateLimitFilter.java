@@ -0,0 +1,127 @@
+package com.taskService.task.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.task.constants.Endpoints;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This filter gives every client of the task API a token bucket: requests are let through at the
+ * configured sustained rate, with bursts up to the bucket size, and anything beyond is answered with 429
+ * and a {@code Retry-After} saying when the next token is due. It runs right after the correlation ID is
+ * assigned, so a client that is over its rate costs neither a database connection nor a controller call.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !request.getRequestURI().startsWith(request.getContextPath() + Endpoints.BASE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientOf(request);
+        long waitNanos = buckets.get(client, key -> new TokenBucket(properties.getBurst(), properties.getRequestsPerSecond()))
+                .tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            log.debug("Rate limit exceeded by client: {}", client);
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((long) Math.ceil(waitNanos / 1e9)));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Rate limit exceeded");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Publishes the number of requests rejected by this filter as
+     * {@code task.requests.rejected{reason=rate-limit}}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.requests.rejected", rejected, LongAdder::sum)
+                .tag("reason", "rate-limit")
+                .description("Requests rejected before reaching the task API")
+                .register(registry);
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String header = properties.getClientHeader();
+        String client = header == null ? null : request.getHeader(header);
+        return client != null && !client.isEmpty() ? client : request.getRemoteAddr();
+    }
+
+    /**
+     * Tokens are refilled lazily, from the time elapsed since the last request, rather than by a timer.
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int capacity, double tokensPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * Takes a token if there is one.
+         *
+         * @return 0 if a token was taken, otherwise the nanoseconds until the next one is due
+         */
+        private synchronized long tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
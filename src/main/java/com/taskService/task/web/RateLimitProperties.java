@@ -0,0 +1,35 @@
+package com.taskService.task.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for per-client rate limiting of the task API, bound from {@code task.rate-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.rate-limit")
+public class RateLimitProperties {
+
+    /** Whether requests are rate limited at all. */
+    private boolean enabled = true;
+
+    /** Sustained number of requests per second allowed for each client. */
+    private double requestsPerSecond = 100;
+
+    /** Number of requests a client that has been idle may send at once, above the sustained rate. */
+    private int burst = 200;
+
+    /**
+     * Request header identifying the client, such as an API key set by the gateway; clients that do not send
+     * it, or all clients when unset, are told apart by their remote address.
+     */
+    private String clientHeader;
+
+    /** Maximum number of clients tracked at once; the least recently seen are forgotten first. */
+    private long maximumClients = 100_000;
+
+    /** How long an idle client is remembered; it gets a full bucket when it comes back after that. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+}
@@ -0,0 +1,41 @@
+package com.taskService.task.writebehind;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for write-behind task creation, bound from {@code task.write-behind.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task.write-behind")
+public class TaskWriteBehindProperties {
+
+    /** Whether single creates are acknowledged at once and written to the database in batches. */
+    private boolean enabled = false;
+
+    /** Maximum number of accepted tasks waiting to be written. */
+    private int capacity = 10_000;
+
+    /** Maximum number of tasks written in one transaction. */
+    private int batchSize = 500;
+
+    /** How long a create waits for room in a full queue before it is rejected. */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /** Attempts at writing a batch before its tasks are given up on. */
+    private int maxAttempts = 3;
+
+    /** How long a change to a task that is still queued waits for it to be written before it is refused. */
+    private Duration pendingWriteTimeout = Duration.ofSeconds(5);
+
+    /** How long the IDs of tasks given up on are remembered, so requests for them say what happened. */
+    private Duration failedRetention = Duration.ofHours(24);
+
+    /** Maximum number of given-up task IDs remembered. */
+    private int failedCapacity = 100_000;
+
+    /** How long a graceful shutdown waits for the queue to drain. */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
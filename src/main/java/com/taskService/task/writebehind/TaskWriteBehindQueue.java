@@ -0,0 +1,272 @@
+package com.taskService.task.writebehind;
+
+import com.taskService.task.entity.TaskEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskService.task.exception.TaskNotYetWrittenException;
+import com.taskService.task.exception.TaskQueueFullException;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.exception.TaskWriteFailedException;
+import com.taskService.task.service.TaskDatabaseHelper;
+import com.taskService.task.store.TaskStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is the write-behind buffer for single task creates. An accepted task gets its ID at once and is
+ * queued; one writer thread drains the queue and inserts whatever has accumulated, up to the batch size,
+ * in one transaction, so under load many creates share one commit.
+ *
+ * <p>A full queue rejects new tasks instead of growing. On graceful shutdown the queue stops accepting,
+ * and is drained after the web server has stopped taking requests and before the data source is closed.
+ * Accepted tasks are kept here until they are written, so they are readable by ID at once, whatever the
+ * task cache holds, but only appear in listings once written. A change to a task that is still queued waits for its insert first, so the insert
+ * cannot miss or undo it. A batch that cannot be written is given up on after a few attempts; its task IDs
+ * are remembered for a while, so requests for them say so instead of answering as if they never existed.
+ */
+@Slf4j
+@Component
+public class TaskWriteBehindQueue implements SmartLifecycle {
+
+    public static final String METRIC_PREFIX = "task.write.behind";
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long POLL_MILLIS = 100;
+
+    private final TaskWriteBehindProperties properties;
+    private final TaskDatabaseHelper taskDatabaseHelper;
+    private final TaskStore taskStore;
+    private final BlockingQueue<TaskEntity> queue;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> failedIds;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskWriteBehindQueue(TaskWriteBehindProperties properties, TaskDatabaseHelper taskDatabaseHelper,
+                                TaskStore taskStore, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskDatabaseHelper = taskDatabaseHelper;
+        this.taskStore = taskStore;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.failedIds = Caffeine.newBuilder()
+                .maximumSize(properties.getFailedCapacity())
+                .expireAfterWrite(properties.getFailedRetention())
+                .build();
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+                .description("Accepted tasks waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_PREFIX + ".flush")
+                .description("Time to write one batch of accepted tasks")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("Number of tasks written per batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Tasks rejected because the queue was full or shutting down")
+                .register(meterRegistry);
+        this.failed = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Accepted tasks given up on after repeated write failures")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether single creates go through this queue.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Assigns the task an ID and queues it for writing.
+     *
+     * @param task the new task, without ID
+     * @return the task with its ID and initial version
+     * @throws TaskQueueFullException if the queue stayed full for the offer timeout, or is shutting down
+     */
+    public TaskEntity submit(TaskEntity task) {
+        if (!accepting) {
+            rejected.increment();
+            throw new TaskQueueFullException("Task creation is shutting down");
+        }
+        TaskEntity accepted = task.toBuilder().id(taskStore.nextId()).version(0L).build();
+        pending.put(accepted.getId(), new Pending(accepted, new CompletableFuture<>()));
+        try {
+            if (!queue.offer(accepted, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                pending.remove(accepted.getId());
+                rejected.increment();
+                throw new TaskQueueFullException("Task creation queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.remove(accepted.getId());
+            rejected.increment();
+            throw new TaskQueueFullException("Interrupted while waiting for the task creation queue");
+        }
+        return accepted;
+    }
+
+    /**
+     * @return the task as accepted, if it is still waiting to be written
+     */
+    public Optional<TaskEntity> findPending(Long id) {
+        Pending accepted = pending.get(id);
+        return accepted == null ? Optional.empty() : Optional.of(accepted.task());
+    }
+
+    /**
+     * Waits until a task accepted by this queue is written, so a change made to it afterwards is not missed
+     * or undone by its insert. Returns at once for a task that is not queued, and once a queued one is given
+     * up on.
+     *
+     * @throws TaskNotYetWrittenException if the task is still not written after the pending write timeout
+     */
+    public void awaitWritten(Long id) {
+        Pending accepted = pending.get(id);
+        if (accepted == null) {
+            return;
+        }
+        try {
+            accepted.written().get(properties.getPendingWriteTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // given up on; checkNotFailed says so
+        } catch (TimeoutException e) {
+            throw new TaskNotYetWrittenException(id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskNotYetWrittenException(id);
+        }
+    }
+
+    /**
+     * @throws TaskWriteFailedException if the task was accepted by this queue and then given up on
+     */
+    public void checkNotFailed(Long id) {
+        if (failedIds.getIfPresent(id) != null) {
+            throw new TaskWriteFailedException(id);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        accepting = true;
+        running = true;
+        writer = Thread.ofPlatform().name("task-write-behind").daemon().start(this::drain);
+        log.info("Write-behind task creation started, capacity: {}, batch size: {}",
+                properties.getCapacity(), properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        accepting = false;
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() || !queue.isEmpty()) {
+            log.error("Write-behind queue not drained within {}, {} accepted tasks were not written",
+                    properties.getShutdownTimeout(), queue.size());
+        } else {
+            log.info("Write-behind queue drained");
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Stops after the web server (so no request is still submitting) and before the data source closes.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<TaskEntity> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskEntity first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<TaskEntity> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= properties.getMaxAttempts(); attempt++) {
+            long start = System.nanoTime();
+            try {
+                taskDatabaseHelper.insertTasks(batch);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch.size());
+                batch.forEach(task -> pending.remove(task.getId()).written().complete(null));
+                return;
+            } catch (TaskSaveException e) {
+                log.warn("Writing batch of {} tasks failed, attempt {} of {}",
+                        batch.size(), attempt, properties.getMaxAttempts(), e);
+                if (attempt < properties.getMaxAttempts()) {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                }
+            }
+        }
+        failed.increment(batch.size());
+        batch.forEach(task -> {
+            failedIds.put(task.getId(), Boolean.TRUE);
+            pending.remove(task.getId()).written().completeExceptionally(new TaskWriteFailedException(task.getId()));
+        });
+        log.error("Gave up writing {} accepted tasks, IDs: {}",
+                batch.size(), batch.stream().map(TaskEntity::getId).toList());
+    }
+
+    /**
+     * An accepted task and what becomes of it: completed once it is written, or exceptionally once it is
+     * given up on.
+     */
+    private record Pending(TaskEntity task, CompletableFuture<Void> written) {
+    }
+}
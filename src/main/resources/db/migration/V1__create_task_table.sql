@@ -0,0 +1,13 @@
+create sequence task_seq start with 1 increment by 50;
+
+create table task_entity (
+    id          bigint       not null,
+    title       varchar(255),
+    description varchar(500),
+    due_date    date,
+    version     bigint       not null default 0,
+    primary key (id)
+);
+
+create index idx_task_due_date on task_entity (due_date, id);
+create index idx_task_title on task_entity (title, id);
@@ -0,0 +1,153 @@
+package com.taskService.task;
+
+import com.taskService.task.web.ConcurrencyLimitFilter;
+import com.taskService.task.web.ConcurrencyLimitProperties;
+import com.taskService.task.web.RateLimitFilter;
+import com.taskService.task.web.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingTest {
+
+    private static MockHttpServletResponse perform(jakarta.servlet.Filter filter, MockHttpServletRequest request,
+                                                   FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest taskRequest(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/1");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    @Nested
+    class RateLimiting {
+
+        private final RateLimitProperties properties = new RateLimitProperties();
+
+        @Test
+        @DisplayName("Should reject a client over its burst with 429 and Retry-After, without affecting others")
+        void should_reject_client_over_burst() throws Exception {
+            properties.setRequestsPerSecond(0.5);
+            properties.setBurst(2);
+            RateLimitFilter filter = new RateLimitFilter(properties);
+            FilterChain ok = (req, res) -> ((HttpServletResponse) res).setStatus(200);
+
+            assertEquals(200, perform(filter, taskRequest("10.0.0.1"), ok).getStatus());
+            assertEquals(200, perform(filter, taskRequest("10.0.0.1"), ok).getStatus());
+            MockHttpServletResponse limited = perform(filter, taskRequest("10.0.0.1"), ok);
+
+            assertEquals(429, limited.getStatus());
+            assertEquals("2", limited.getHeader("Retry-After"));
+            assertEquals(200, perform(filter, taskRequest("10.0.0.2"), ok).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should tell clients apart by the configured header and leave other paths alone")
+        void should_key_clients_by_header() throws Exception {
+            properties.setRequestsPerSecond(0.001);
+            properties.setBurst(1);
+            properties.setClientHeader("X-Api-Key");
+            RateLimitFilter filter = new RateLimitFilter(properties);
+            FilterChain ok = (req, res) -> ((HttpServletResponse) res).setStatus(200);
+            MockHttpServletRequest first = taskRequest("10.0.0.1");
+            first.addHeader("X-Api-Key", "a");
+            MockHttpServletRequest second = taskRequest("10.0.0.1");
+            second.addHeader("X-Api-Key", "b");
+
+            assertEquals(200, perform(filter, first, ok).getStatus());
+            assertEquals(200, perform(filter, second, ok).getStatus());
+            assertEquals(200, perform(filter, taskRequest("10.0.0.1"), ok).getStatus());
+            assertEquals(429, perform(filter, first, ok).getStatus());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(200, perform(filter, new MockHttpServletRequest("GET", "/actuator/health"), ok).getStatus());
+            }
+        }
+    }
+
+    @Nested
+    class ConcurrencyLimiting {
+
+        private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+        @Test
+        @DisplayName("Should shed requests over the limit with 503 and Retry-After")
+        void should_shed_requests_over_limit() throws Exception {
+            properties.setInitialLimit(1);
+            properties.setMinLimit(1);
+            ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            FilterChain blocking = (req, res) -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<MockHttpServletResponse> first = executor.submit(() -> perform(filter, taskRequest("10.0.0.1"), blocking));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                MockHttpServletResponse shed = perform(filter, taskRequest("10.0.0.2"), (req, res) -> fail("should be shed"));
+                release.countDown();
+
+                assertEquals(503, shed.getStatus());
+                assertEquals("1", shed.getHeader("Retry-After"));
+                assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatus());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should lower the limit on slow or failed requests and raise it while fast requests use it")
+        void should_adapt_limit_to_latency() throws Exception {
+            properties.setInitialLimit(10);
+            properties.setLatencyTarget(Duration.ofMillis(5));
+            ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties);
+
+            perform(filter, taskRequest("10.0.0.1"), (req, res) -> sleep(10));
+            assertEquals(9, filter.currentLimit());
+            Thread.sleep(10);
+            perform(filter, taskRequest("10.0.0.1"), (req, res) -> ((HttpServletResponse) res).setStatus(500));
+            assertEquals(8, filter.currentLimit());
+
+            properties.setInitialLimit(1);
+            properties.setMinLimit(1);
+            properties.setLatencyTarget(Duration.ofSeconds(5));
+            ConcurrencyLimitFilter growing = new ConcurrencyLimitFilter(properties);
+            for (int i = 0; i < 10; i++) {
+                perform(growing, taskRequest("10.0.0.1"), (req, res) -> { });
+            }
+            // one request at a time grows the limit only until it is no longer at least half used
+            assertEquals(2, growing.currentLimit());
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
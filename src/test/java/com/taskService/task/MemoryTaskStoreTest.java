@@ -0,0 +1,238 @@
+package com.taskService.task;
+
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskSortField;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+import com.taskService.task.store.MemoryTaskStore;
+import com.taskService.task.store.TaskStoreProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryTaskStoreTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 5, 15);
+
+    private MemoryTaskStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TaskStoreProperties properties = new TaskStoreProperties();
+        properties.setInitialCapacity(16);
+        properties.setStripes(4);
+        store = new MemoryTaskStore(properties);
+    }
+
+    private static TaskEntity task(String title, LocalDate dueDate) {
+        return TaskEntity.builder().title(title).description("Déscription of " + title).dueDate(dueDate).build();
+    }
+
+    @Nested
+    class Storage {
+
+        @Test
+        @DisplayName("Should keep every task through growth and deletes, and stream them ordered by ID")
+        void should_keep_tasks_through_growth_and_deletes() {
+            for (int i = 0; i < 5000; i++) {
+                store.save(task("Task " + i, DATE.plusDays(i % 30)));
+            }
+            List<Long> deleted = store.deleteAll(LongStream.rangeClosed(1, 5000).filter(id -> id % 3 == 0).boxed().toList());
+
+            assertEquals(1666, deleted.size());
+            List<Long> streamed = new ArrayList<>();
+            store.forEach(task -> streamed.add(task.getId()));
+            assertEquals(LongStream.rangeClosed(1, 5000).filter(id -> id % 3 != 0).boxed().toList(), streamed);
+            assertEquals(Optional.of(new TaskEntity(4L, "Task 3", "Déscription of Task 3", DATE.plusDays(3), 0L)),
+                    store.findById(4L));
+            assertTrue(store.findById(3L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep null fields and dates before the epoch")
+        void should_round_trip_null_fields_and_old_dates() {
+            TaskEntity saved = store.save(TaskEntity.builder().title("Old").dueDate(LocalDate.of(1900, 1, 1)).build());
+
+            assertEquals(new TaskEntity(saved.getId(), "Old", null, LocalDate.of(1900, 1, 1), 0L),
+                    store.findById(saved.getId()).orElseThrow());
+        }
+    }
+
+    @Nested
+    class Versions {
+
+        @Test
+        @DisplayName("Should bump the version on every write and honour the expected version")
+        void should_bump_version_and_check_expected_version() {
+            long id = store.save(task("A", DATE)).getId();
+
+            assertEquals(OptionalLong.of(1L), store.update(id, task("B", DATE), 0L));
+            assertEquals(OptionalLong.empty(), store.update(id, task("C", DATE), 0L));
+            assertThrows(TaskPreconditionFailedException.class, () -> store.patch(id, task("D", null), 0L));
+            TaskEntity patched = store.patch(id, TaskEntity.builder().title("D").build(), 1L);
+            Map<Long, TaskEntity> updated = store.updateAll(Map.of(id, task("E", DATE), 999L, task("F", DATE)));
+
+            assertEquals(new TaskEntity(id, "D", "Déscription of B", DATE, 2L), patched);
+            assertEquals(Map.of(id, new TaskEntity(id, "E", "Déscription of E", DATE, 3L)), updated);
+            assertEquals(OptionalLong.empty(), store.update(999L, task("G", DATE), null));
+            assertThrows(TaskNotFoundException.class, () -> store.patch(999L, task("G", DATE), null));
+        }
+
+        @Test
+        @DisplayName("Should leave the version alone when a patch changes nothing")
+        void should_not_bump_version_for_no_op_patch() {
+            long id = store.save(task("A", DATE)).getId();
+
+            assertEquals(0L, store.patch(id, TaskEntity.builder().title("A").build(), null).getVersion());
+        }
+    }
+
+    @Nested
+    class Listings {
+
+        @BeforeEach
+        void seed() {
+            for (int i = 0; i < 100; i++) {
+                store.save(task("Task " + (char) ('a' + i % 26), DATE.plusDays(i % 10)));
+            }
+        }
+
+        private List<Long> ids(List<TaskResponse> tasks) {
+            return tasks.stream().map(TaskResponse::getId).toList();
+        }
+
+        @Test
+        @DisplayName("Should page through tasks by ID in either direction")
+        void should_page_by_id() {
+            TaskQuery query = TaskQuery.builder().limit(3).build();
+            TaskQuery descending = query.toBuilder().direction(Sort.Direction.DESC).build();
+
+            assertEquals(List.of(1L, 2L, 3L), ids(store.find(query, null)));
+            assertEquals(List.of(4L, 5L, 6L), ids(store.find(query, TaskEntity.builder().id(3L).build())));
+            assertEquals(List.of(100L, 99L, 98L), ids(store.find(descending, null)));
+            assertEquals(List.of(97L, 96L, 95L), ids(store.find(descending, TaskEntity.builder().id(98L).build())));
+        }
+
+        @Test
+        @DisplayName("Should filter and sort by due date with keyset pagination, ties broken by ID")
+        void should_filter_and_sort_by_due_date() {
+            TaskQuery query = TaskQuery.builder()
+                    .limit(2)
+                    .dueAfter(DATE.plusDays(2))
+                    .titlePrefix("Task b")
+                    .sortBy(TaskSortField.DUE_DATE)
+                    .build();
+
+            List<TaskResponse> first = store.find(query, null);
+            TaskResponse last = first.get(first.size() - 1);
+            List<TaskResponse> second = store.find(query, new TaskEntity(last.getId(), last.getTitle(), null, last.getDueDate(), null));
+
+            // "Task b" are IDs 2, 28, 54 and 80, due 1, 7, 3 and 9 days after DATE
+            assertEquals(List.of(54L, 28L), ids(first));
+            assertEquals(List.of(80L), ids(second));
+        }
+    }
+
+    @Nested
+    class Durability {
+
+        @TempDir
+        Path dataDir;
+
+        private MemoryTaskStore open() throws IOException {
+            TaskStoreProperties properties = new TaskStoreProperties();
+            properties.setInitialCapacity(16);
+            properties.setStripes(4);
+            properties.setDataDir(dataDir);
+            return new MemoryTaskStore(properties);
+        }
+
+        private List<TaskResponse> contents(MemoryTaskStore store) {
+            List<TaskResponse> tasks = new ArrayList<>();
+            store.forEach(tasks::add);
+            return tasks;
+        }
+
+        @Test
+        @DisplayName("Should recover every task and keep handing out new IDs after a clean restart")
+        void should_recover_after_restart() throws IOException {
+            MemoryTaskStore first = open();
+            for (int i = 0; i < 3000; i++) {
+                first.save(task("Task " + i, DATE.plusDays(i % 30)));
+            }
+            first.update(7L, task("Changed", null), 0L);
+            first.deleteAll(List.of(1L, 3000L));
+            List<TaskResponse> before = contents(first);
+            first.close();
+
+            MemoryTaskStore second = open();
+            try {
+                assertEquals(before, contents(second));
+                assertEquals(3001L, second.save(task("Next", DATE)).getId());
+            } finally {
+                second.close();
+            }
+        }
+
+        @Test
+        @DisplayName("Should recover the snapshot plus the log after a crash, ignoring a torn last record")
+        void should_recover_after_crash() throws IOException {
+            MemoryTaskStore crashed = open();
+            for (int i = 0; i < 200; i++) {
+                crashed.save(task("Task " + i, DATE));
+            }
+            crashed.snapshot();
+            crashed.patch(5L, TaskEntity.builder().title("Patched").build(), null);
+            crashed.delete(6L);
+            crashed.save(task("After snapshot", null));
+            List<TaskResponse> before = contents(crashed);
+            try (Stream<Path> logs = Files.list(dataDir)) {
+                Path lastLog = logs.filter(file -> file.toString().endsWith(".log")).sorted().reduce((a, b) -> b).orElseThrow();
+                Files.write(lastLog, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+            }
+
+            MemoryTaskStore recovered = open();
+            try {
+                assertEquals(before, contents(recovered));
+                assertEquals("Patched", recovered.findById(5L).orElseThrow().getTitle());
+                assertEquals(1L, recovered.findById(5L).orElseThrow().getVersion());
+            } finally {
+                recovered.close();
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject writes without changing any task once the log no longer accepts them")
+        void should_reject_writes_after_log_is_closed() throws IOException {
+            MemoryTaskStore closed = open();
+            Long id = closed.save(task("Kept", DATE)).getId();
+            closed.close();
+
+            assertThrows(IllegalStateException.class, () -> closed.save(task("Lost", DATE)));
+            assertThrows(IllegalStateException.class, () -> closed.update(id, task("Changed", null), null));
+            assertThrows(IllegalStateException.class, () -> closed.delete(id));
+            assertEquals(List.of(id), contents(closed).stream().map(TaskResponse::getId).toList());
+            assertEquals("Kept", closed.findById(id).orElseThrow().getTitle());
+        }
+    }
+}
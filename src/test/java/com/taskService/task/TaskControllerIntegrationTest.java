@@ -1,11 +1,30 @@
 package com.taskService.task;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.taskService.task.constants.MediaTypes;
 import com.taskService.task.controller.TaskController;
+import com.taskService.task.dto.TaskBatchResult;
+import com.taskService.task.dto.TaskPatchRequest;
+import com.taskService.task.dto.TaskQuery;
 import com.taskService.task.dto.TaskRequest;
 import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskSortField;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.event.TaskChangeEvent;
+import com.taskService.task.event.TaskEventStream;
 import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+import com.taskService.task.service.TaskMapper;
 import com.taskService.task.service.TaskService;
+import com.taskService.task.transfer.TaskExporter;
+import com.taskService.task.transfer.TaskImporter;
+import com.taskService.task.web.CorrelationIdFilter;
+import com.taskService.task.web.IdempotencyFilter;
+import com.taskService.task.web.IdempotencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,21 +33,43 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.unit.DataSize;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
 @WebMvcTest(TaskController.class)
+@Import({TaskEventStream.class, TaskMapper.class, TaskExporter.class})
 class TaskControllerIntegrationTest {
 
     @Autowired
@@ -37,9 +78,15 @@ class TaskControllerIntegrationTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskImporter taskImporter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskEventStream taskEventStream;
+
     @Nested
     @DisplayName("POST requests for task")
     class PostRequests {
@@ -53,7 +100,7 @@ class TaskControllerIntegrationTest {
             ClassPathResource resource1 = new ClassPathResource("dataset/create-task-data/create-task-response.json");
             String expectedResponse = new String(resource1.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
 
-            TaskResponse mockResponse = new TaskResponse(1L, "Title", "Description", LocalDate.of(2025, 5, 15));
+            TaskResponse mockResponse = new TaskResponse(1L, "Title", "Description", LocalDate.of(2025, 5, 15), 0L);
             Mockito.when(taskService.createTask(Mockito.any())).thenReturn(mockResponse);
 
             mockMvc.perform(post("/tasks")
@@ -117,20 +164,117 @@ class TaskControllerIntegrationTest {
         @DisplayName("Should successfully fetch all the records from DB")
         void should_successfully_fetched_all_the_records_from_db() throws Exception {
             List<TaskResponse> tasks = Arrays.asList(
-                    new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now()),
-                    new TaskResponse(2L, "Task 2", "Desc 2", LocalDate.now())
+                    new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now(), 0L),
+                    new TaskResponse(2L, "Task 2", "Desc 2", LocalDate.now(), 0L)
             );
-            Mockito.when(taskService.getAllTasks()).thenReturn(tasks);
+            Mockito.when(taskService.getTasks(TaskQuery.builder().limit(100).build())).thenReturn(tasks);
 
             mockMvc.perform(get("/tasks"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.size()", is(2)));
         }
 
+        @Test
+        @DisplayName("Should return a next link when the page is full")
+        void should_return_next_link_when_page_is_full() throws Exception {
+            List<TaskResponse> tasks = Arrays.asList(
+                    new TaskResponse(3L, "Task 3", "Desc 3", LocalDate.now(), 0L),
+                    new TaskResponse(4L, "Task 4", "Desc 4", LocalDate.now(), 0L)
+            );
+            Mockito.when(taskService.getTasks(TaskQuery.builder().after(2L).limit(2).build())).thenReturn(tasks);
+
+            mockMvc.perform(get("/tasks").param("after", "2").param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.size()", is(2)))
+                    .andExpect(header().string("Link", containsString("after=4")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the page limit is out of range")
+        void should_return_400_when_page_limit_is_out_of_range() throws Exception {
+            mockMvc.perform(get("/tasks").param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should pass filters and sort order through to the service")
+        void should_pass_filters_and_sort_order_to_service() throws Exception {
+            TaskQuery expectedQuery = TaskQuery.builder()
+                    .limit(100)
+                    .dueAfter(LocalDate.of(2025, 5, 1))
+                    .dueBefore(LocalDate.of(2025, 6, 1))
+                    .titlePrefix("Rel")
+                    .sortBy(TaskSortField.DUE_DATE)
+                    .direction(Sort.Direction.DESC)
+                    .build();
+            Mockito.when(taskService.getTasks(expectedQuery))
+                    .thenReturn(List.of(new TaskResponse(1L, "Release", "Desc 1", LocalDate.of(2025, 5, 20), 0L)));
+
+            mockMvc.perform(get("/tasks")
+                            .param("dueAfter", "2025-05-01")
+                            .param("dueBefore", "2025-06-01")
+                            .param("titlePrefix", "Rel")
+                            .param("sort", "dueDate,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].title", is("Release")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when sorting by an unsupported property")
+        void should_return_400_when_sorting_by_unsupported_property() throws Exception {
+            mockMvc.perform(get("/tasks").param("sort", "description"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should stream all tasks as newline-delimited JSON")
+        void should_stream_all_tasks_as_ndjson() throws Exception {
+            Mockito.doAnswer(invocation -> {
+                Consumer<TaskResponse> consumer = invocation.getArgument(0);
+                consumer.accept(new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.of(2025, 5, 15), 0L));
+                consumer.accept(new TaskResponse(2L, "Task 2", "Desc 2", LocalDate.of(2025, 5, 16), 0L));
+                return null;
+            }).when(taskService).streamAllTasks(Mockito.any());
+
+            MvcResult result = mockMvc.perform(get("/tasks/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string(
+                            "{\"id\":1,\"title\":\"Task 1\",\"description\":\"Desc 1\",\"dueDate\":\"2025-05-15\",\"version\":0}\n"
+                                    + "{\"id\":2,\"title\":\"Task 2\",\"description\":\"Desc 2\",\"dueDate\":\"2025-05-16\",\"version\":0}\n"));
+        }
+
+        @Test
+        @DisplayName("Should export all tasks as a CSV download, quoting fields that need it")
+        void should_export_tasks_as_csv() throws Exception {
+            Mockito.doAnswer(invocation -> {
+                Consumer<TaskResponse> consumer = invocation.getArgument(0);
+                consumer.accept(new TaskResponse(1L, "Task, 1", "Say \"hi\"\nthen leave", LocalDate.of(2025, 5, 15), 2L));
+                consumer.accept(new TaskResponse(2L, "Task 2", "Desc 2", null, 0L));
+                return null;
+            }).when(taskService).streamAllTasks(Mockito.any());
+
+            MvcResult result = mockMvc.perform(get("/tasks/export").param("format", "csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\""))
+                    .andExpect(content().string("id,title,description,dueDate,version\n"
+                            + "1,\"Task, 1\",\"Say \"\"hi\"\"\nthen leave\",2025-05-15,2\n"
+                            + "2,Task 2,Desc 2,,0\n"));
+        }
+
         @Test
         @DisplayName("Should return fetched record by given ID")
         void should_successfully_return_a_record_by_the_given_id() throws Exception {
-            TaskResponse response = new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now());
+            TaskResponse response = new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now(), 0L);
 
             Mockito.when(taskService.getTaskById(1L)).thenReturn(response);
 
@@ -139,6 +283,29 @@ class TaskControllerIntegrationTest {
                     .andExpect(jsonPath("$.title", is("Task 1")));
         }
 
+        @Test
+        @DisplayName("Should return the task version as ETag")
+        void should_return_task_version_as_etag() throws Exception {
+            TaskResponse response = new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now(), 3L);
+            Mockito.when(taskService.getTaskById(1L)).thenReturn(response);
+
+            mockMvc.perform(get("/tasks/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"3\""));
+        }
+
+        @Test
+        @DisplayName("Should return 304 without a body when the ETag in If-None-Match is current")
+        void should_return_304_when_if_none_match_is_current() throws Exception {
+            TaskResponse response = new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now(), 3L);
+            Mockito.when(taskService.getTaskById(1L)).thenReturn(response);
+
+            mockMvc.perform(get("/tasks/1").header("If-None-Match", "\"3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"3\""))
+                    .andExpect(content().string(""));
+        }
+
         @Test
         @DisplayName("Should return 404 when fetching non-existent task by ID")
         void should_return_404_when_fetching_non_existent_task_by_id() throws Exception {
@@ -153,7 +320,7 @@ class TaskControllerIntegrationTest {
         @DisplayName("Should return 404 when fetching all tasks and no tasks exist")
         void should_return_200_when_fetching_all_tasks_and_no_tasks_exist() throws Exception {
             // Simulate no tasks found
-            Mockito.when(taskService.getAllTasks()).thenReturn(List.of());
+            Mockito.when(taskService.getTasks(TaskQuery.builder().limit(100).build())).thenReturn(List.of());
 
             mockMvc.perform(get("/tasks"))
                     .andExpect(status().isOk())
@@ -169,9 +336,9 @@ class TaskControllerIntegrationTest {
         @DisplayName("Should successfully update data in DB and return appropriate result")
         void should_successfully_update_data_in_db_and_return_appropriate_result() throws Exception {
             TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDate.now());
-            TaskResponse response = new TaskResponse(1L, "Updated", "Updated Desc", LocalDate.now());
+            TaskResponse response = new TaskResponse(1L, "Updated", "Updated Desc", LocalDate.now(), 0L);
 
-            Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any())).thenReturn(response);
+            Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(), Mockito.isNull())).thenReturn(response);
 
             mockMvc.perform(put("/tasks/1")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -180,13 +347,82 @@ class TaskControllerIntegrationTest {
                     .andExpect(jsonPath("$.title", is("Updated")));
         }
 
+        @Test
+        @DisplayName("Should return the new ETag after an update without If-Match")
+        void should_return_new_etag_after_unconditional_update() throws Exception {
+            TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDate.now());
+            TaskResponse response = new TaskResponse(1L, "Updated", "Updated Desc", LocalDate.now(), 5L);
+            Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(), Mockito.isNull())).thenReturn(response);
+
+            mockMvc.perform(put("/tasks/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.version", is(5)))
+                    .andExpect(header().string("ETag", "\"5\""));
+        }
+
+        @Test
+        @DisplayName("Should update conditionally and return the new ETag when If-Match is given")
+        void should_update_conditionally_when_if_match_is_given() throws Exception {
+            TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDate.now());
+            TaskResponse response = new TaskResponse(1L, "Updated", "Updated Desc", LocalDate.now(), 4L);
+            Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(), Mockito.eq(3L))).thenReturn(response);
+
+            mockMvc.perform(put("/tasks/1")
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4\""));
+        }
+
+        @Test
+        @DisplayName("Should return 412 when the task changed since the ETag in If-Match")
+        void should_return_412_when_if_match_is_stale() throws Exception {
+            TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDate.now());
+            Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(), Mockito.eq(2L)))
+                    .thenThrow(new TaskPreconditionFailedException(1L));
+
+            mockMvc.perform(put("/tasks/1")
+                            .header("If-Match", "\"2\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        @DisplayName("Should update when the current version is any of the ETags listed in If-Match")
+        void should_update_when_any_listed_etag_matches() throws Exception {
+            TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDate.now());
+            Mockito.when(taskService.getTaskById(1L))
+                    .thenReturn(new TaskResponse(1L, "Title", "Description", LocalDate.now(), 4L));
+            Mockito.when(taskService.updateTask(Mockito.eq(1L), Mockito.any(), Mockito.eq(4L)))
+                    .thenReturn(new TaskResponse(1L, "Updated", "Updated Desc", LocalDate.now(), 5L));
+
+            mockMvc.perform(put("/tasks/1")
+                            .header("If-Match", "\"3\", W/\"9\", \"4\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"5\""));
+
+            mockMvc.perform(put("/tasks/1")
+                            .header("If-Match", "\"1\", \"2\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isPreconditionFailed());
+
+            Mockito.verify(taskService, Mockito.times(1)).updateTask(Mockito.any(), Mockito.any(), Mockito.any());
+        }
+
         @Test
         @DisplayName("Should return 404 when updating task that does not exist")
         void should_return_404_when_updating_task_that_does_not_exist() throws Exception {
             TaskRequest request = new TaskRequest("Updated", "Updated Desc", LocalDate.now());
 
             // Simulate task not found
-            Mockito.when(taskService.updateTask(Mockito.eq(999L), Mockito.any())).thenThrow(new TaskNotFoundException(999L));
+            Mockito.when(taskService.updateTask(Mockito.eq(999L), Mockito.any(), Mockito.isNull())).thenThrow(new TaskNotFoundException(999L));
 
             mockMvc.perform(put("/tasks/999")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -228,6 +464,67 @@ class TaskControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("PATCH requests for task")
+    class PatchRequests {
+
+        @Test
+        @DisplayName("Should apply a merge patch and return the new ETag")
+        void should_apply_merge_patch_and_return_new_etag() throws Exception {
+            TaskResponse response = new TaskResponse(1L, "Title", "Description", LocalDate.of(2025, 6, 1), 4L);
+            Mockito.when(taskService.patchTask(1L, TaskPatchRequest.builder().dueDate(LocalDate.of(2025, 6, 1)).build(), 3L))
+                    .thenReturn(response);
+
+            mockMvc.perform(patch("/tasks/1")
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaTypes.MERGE_PATCH_JSON_VALUE)
+                            .content("{\"dueDate\": \"2025-06-01\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.dueDate", is("2025-06-01")))
+                    .andExpect(header().string("ETag", "\"4\""));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the patch removes a mandatory field")
+        void should_return_400_when_patch_removes_a_field() throws Exception {
+            mockMvc.perform(patch("/tasks/1")
+                            .contentType(MediaTypes.MERGE_PATCH_JSON_VALUE)
+                            .content("{\"title\": null}"))
+                    .andExpect(status().isBadRequest());
+
+            Mockito.verify(taskService, Mockito.never()).patchTask(Mockito.any(), Mockito.any(), Mockito.any());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the patch blanks the title")
+        void should_return_400_when_patch_blanks_the_title() throws Exception {
+            mockMvc.perform(patch("/tasks/1")
+                            .contentType(MediaTypes.MERGE_PATCH_JSON_VALUE)
+                            .content("{\"title\": \"  \"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the patched title is longer than 255 characters")
+        void should_return_400_when_patched_title_is_too_long() throws Exception {
+            mockMvc.perform(patch("/tasks/1")
+                            .contentType(MediaTypes.MERGE_PATCH_JSON_VALUE)
+                            .content("{\"title\": \"" + "x".repeat(256) + "\"}"))
+                    .andExpect(status().isBadRequest());
+
+            Mockito.verify(taskService, Mockito.never()).patchTask(Mockito.any(), Mockito.any(), Mockito.any());
+        }
+
+        @Test
+        @DisplayName("Should return 415 when the body is not a merge patch")
+        void should_return_415_when_body_is_not_merge_patch() throws Exception {
+            mockMvc.perform(patch("/tasks/1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\": \"New\"}"))
+                    .andExpect(status().isUnsupportedMediaType());
+        }
+    }
+
     @Nested
     @DisplayName("DELETE requests for task")
     class DeleteRequests {
@@ -251,4 +548,388 @@ class TaskControllerIntegrationTest {
                     .andExpect(status().isNotFound());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Batch requests for task")
+    class BatchRequests {
+
+        @Test
+        @DisplayName("Should create all tasks of a batch and return one result per task")
+        void should_create_all_tasks_of_a_batch() throws Exception {
+            List<TaskRequest> requests = List.of(
+                    new TaskRequest("Task 1", "Desc 1", LocalDate.now()),
+                    new TaskRequest("Task 2", "Desc 2", LocalDate.now())
+            );
+            List<TaskBatchResult> results = List.of(
+                    new TaskBatchResult(1L, 201, new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now(), 0L), null),
+                    new TaskBatchResult(2L, 201, new TaskResponse(2L, "Task 2", "Desc 2", LocalDate.now(), 0L), null)
+            );
+            Mockito.when(taskService.createTasks(Mockito.anyList())).thenReturn(results);
+
+            mockMvc.perform(post("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requests)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.size()", is(2)))
+                    .andExpect(jsonPath("$[1].status", is(201)))
+                    .andExpect(jsonPath("$[1].task.title", is("Task 2")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when any task of a batch is invalid")
+        void should_return_400_when_any_task_of_a_batch_is_invalid() throws Exception {
+            List<TaskRequest> requests = List.of(
+                    new TaskRequest("Task 1", "Desc 1", LocalDate.now()),
+                    new TaskRequest("", "Desc 2", LocalDate.now())
+            );
+
+            mockMvc.perform(post("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requests)))
+                    .andExpect(status().isBadRequest());
+
+            Mockito.verify(taskService, Mockito.never()).createTasks(Mockito.anyList());
+        }
+
+        @Test
+        @DisplayName("Should report per-item status when deleting a batch")
+        void should_report_per_item_status_when_deleting_a_batch() throws Exception {
+            List<TaskBatchResult> results = List.of(
+                    new TaskBatchResult(1L, 204, null, null),
+                    new TaskBatchResult(999L, 404, null, "Task not found with id 999")
+            );
+            Mockito.when(taskService.deleteTasks(List.of(1L, 999L))).thenReturn(results);
+
+            mockMvc.perform(delete("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[1, 999]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status", is(204)))
+                    .andExpect(jsonPath("$[1].status", is(404)))
+                    .andExpect(jsonPath("$[1].error", is("Task not found with id 999")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Search requests for task")
+    class SearchRequests {
+
+        @Test
+        @DisplayName("Should return matching tasks with a Link to the next page when the page is full")
+        void should_return_matches_with_next_link_when_page_is_full() throws Exception {
+            Mockito.when(taskService.searchTasks("report", 0, 2)).thenReturn(List.of(
+                    new TaskResponse(7L, "Quarterly report", "Draft", LocalDate.now(), 0L),
+                    new TaskResponse(3L, "Review", "Review the report", LocalDate.now(), 0L)));
+
+            mockMvc.perform(get("/tasks/search").param("q", "report").param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id", is(7)))
+                    .andExpect(jsonPath("$[1].id", is(3)))
+                    .andExpect(header().string("Link", containsString("offset=2")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the search text is blank")
+        void should_return_400_when_search_text_is_blank() throws Exception {
+            mockMvc.perform(get("/tasks/search").param("q", " "))
+                    .andExpect(status().isBadRequest());
+
+            Mockito.verify(taskService, Mockito.never()).searchTasks(Mockito.any(), Mockito.anyInt(), Mockito.anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Content negotiation")
+    class ContentNegotiation {
+
+        @Test
+        @DisplayName("Should return a task listing as CBOR when asked for it")
+        void should_return_listing_as_cbor_when_accepted() throws Exception {
+            TaskResponse task = new TaskResponse(1L, "Title", "Description", LocalDate.of(2025, 5, 15), 0L);
+            Mockito.when(taskService.getTasks(Mockito.any())).thenReturn(List.of(task));
+
+            MvcResult result = mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            TaskResponse[] decoded = new CBORMapper().findAndRegisterModules()
+                    .readValue(result.getResponse().getContentAsByteArray(), TaskResponse[].class);
+            assertArrayEquals(new TaskResponse[]{task}, decoded);
+        }
+
+        @Test
+        @DisplayName("Should return 406 for a format the API does not produce")
+        void should_return_406_for_unsupported_format() throws Exception {
+            mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_XML))
+                    .andExpect(status().isNotAcceptable());
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency keys")
+    class IdempotencyKeys {
+
+        private final TaskRequest request = new TaskRequest("Title", "Description", LocalDate.of(2025, 5, 15));
+        private final TaskResponse created = new TaskResponse(1L, "Title", "Description", LocalDate.of(2025, 5, 15), 0L);
+
+        @Test
+        @DisplayName("Should replay the original response to a retry without creating the task again")
+        void should_replay_response_to_retry() throws Exception {
+            Mockito.when(taskService.createTask(Mockito.any())).thenReturn(created);
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                mockMvc.perform(post("/tasks")
+                                .header(IdempotencyFilter.HEADER, "create-replay")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated())
+                        .andExpect(header().string("ETag", "\"0\""))
+                        .andExpect(jsonPath("$.id", is(1)));
+            }
+
+            Mockito.verify(taskService, Mockito.times(1)).createTask(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("Should return 422 when a key is reused for a different request")
+        void should_return_422_when_key_reused_for_different_request() throws Exception {
+            Mockito.when(taskService.createTask(Mockito.any())).thenReturn(created);
+            mockMvc.perform(post("/tasks")
+                            .header(IdempotencyFilter.HEADER, "create-reused")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/tasks")
+                            .header(IdempotencyFilter.HEADER, "create-reused")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TaskRequest("Other", "Description", LocalDate.of(2025, 5, 15)))))
+                    .andExpect(status().isUnprocessableEntity());
+        }
+
+        @Test
+        @DisplayName("Should return 413 for a body too large to fingerprint, without running the request")
+        void should_return_413_when_body_is_too_large() throws Exception {
+            mockMvc.perform(post("/tasks")
+                            .header(IdempotencyFilter.HEADER, "create-too-large")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\": \"" + "x".repeat(3 * 1024 * 1024) + "\"}"))
+                    .andExpect(status().isPayloadTooLarge());
+
+            Mockito.verifyNoInteractions(taskService);
+        }
+
+        @Test
+        @DisplayName("Should return 409 to a retry whose original response was too large to keep")
+        void should_return_409_when_response_was_too_large_to_keep() throws Exception {
+            Mockito.when(taskService.createTask(Mockito.any())).thenReturn(new TaskResponse(1L, "Title",
+                    "x".repeat(2 * 1024 * 1024), LocalDate.of(2025, 5, 15), 0L));
+
+            for (int status : new int[]{201, 409}) {
+                mockMvc.perform(post("/tasks")
+                                .header(IdempotencyFilter.HEADER, "create-large-response")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().is(status));
+            }
+
+            Mockito.verify(taskService, Mockito.times(1)).createTask(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("Should let a concurrent retry wait for the original instead of running again")
+        void should_coalesce_concurrent_requests_with_same_key() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Mockito.when(taskService.createTask(Mockito.any())).thenAnswer(invocation -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return created;
+            });
+            Callable<MvcResult> create = () -> mockMvc.perform(post("/tasks")
+                            .header(IdempotencyFilter.HEADER, "create-concurrent")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andReturn();
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<MvcResult> original = executor.submit(create);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                Future<MvcResult> retry = executor.submit(create);
+                Thread.sleep(100);
+                release.countDown();
+
+                assertEquals(201, original.get(5, TimeUnit.SECONDS).getResponse().getStatus());
+                MvcResult replayed = retry.get(5, TimeUnit.SECONDS);
+                assertEquals(201, replayed.getResponse().getStatus());
+                assertEquals("true", replayed.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            } finally {
+                executor.shutdownNow();
+            }
+            Mockito.verify(taskService, Mockito.times(1)).createTask(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("Should keep the key of a running request when other keys fill the store")
+        void should_keep_running_claim_when_store_fills_up() throws Exception {
+            IdempotencyProperties properties = new IdempotencyProperties();
+            properties.setMaxMemory(DataSize.ofKilobytes(2));
+            IdempotencyFilter filter = new IdempotencyFilter(properties);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            filter.bindTo(registry);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger runs = new AtomicInteger();
+            FilterChain slow = (req, res) -> {
+                runs.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ((HttpServletResponse) res).setStatus(201);
+                res.getWriter().write("created");
+            };
+            FilterChain fast = (req, res) -> {
+                ((HttpServletResponse) res).setStatus(201);
+                res.getWriter().write("x".repeat(200));
+            };
+            Callable<MockHttpServletResponse> create = () -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(keyed("in-flight"), response, slow);
+                return response;
+            };
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<MockHttpServletResponse> original = executor.submit(create);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                for (int i = 0; i < 50; i++) {
+                    filter.doFilter(keyed("filler-" + i), new MockHttpServletResponse(), fast);
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (registry.get("cache.evictions").functionCounter().count() == 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertTrue(registry.get("cache.evictions").functionCounter().count() > 0);
+                Future<MockHttpServletResponse> retry = executor.submit(create);
+                Thread.sleep(100);
+                release.countDown();
+
+                assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatus());
+                MockHttpServletResponse replayed = retry.get(5, TimeUnit.SECONDS);
+                assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+                assertEquals("created", replayed.getContentAsString());
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, runs.get());
+        }
+
+        private MockHttpServletRequest keyed(String key) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks");
+            request.addHeader(IdempotencyFilter.HEADER, key);
+            request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+            return request;
+        }
+    }
+
+    @Nested
+    @DisplayName("Change events")
+    class ChangeEvents {
+
+        private final TaskEntity task = new TaskEntity(7L, "Title", "Description", LocalDate.of(2025, 5, 15), 0L);
+
+        @Test
+        @DisplayName("Should stream committed changes to a subscriber")
+        void should_stream_committed_changes() throws Exception {
+            MvcResult result = mockMvc.perform(get("/tasks/events"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            taskEventStream.onTaskChange(TaskChangeEvent.created(task));
+            taskEventStream.onTaskChange(TaskChangeEvent.deleted(7L));
+
+            String body = awaitBody(result, "event:deleted");
+            assertTrue(body.contains("event:created"));
+            assertTrue(body.contains("\"task\":{\"id\":7,\"title\":\"Title\""));
+            assertTrue(body.contains("data:{\"type\":\"deleted\",\"id\":7}"));
+        }
+
+        @Test
+        @DisplayName("Should resume after Last-Event-ID and reset a subscriber whose position is unknown")
+        void should_resume_after_last_event_id() throws Exception {
+            MvcResult first = mockMvc.perform(get("/tasks/events")).andReturn();
+            taskEventStream.onTaskChange(TaskChangeEvent.created(task));
+            String firstBody = awaitBody(first, "event:created");
+            String lastEventId = firstBody.substring(firstBody.indexOf("id:") + 3, firstBody.indexOf('\n', firstBody.indexOf("id:")));
+            taskEventStream.onTaskChange(TaskChangeEvent.updated(task));
+
+            MvcResult resumed = mockMvc.perform(get("/tasks/events").header("Last-Event-ID", lastEventId)).andReturn();
+            String resumedBody = awaitBody(resumed, "event:updated");
+            assertFalse(resumedBody.contains("event:created"));
+
+            MvcResult unknown = mockMvc.perform(get("/tasks/events").header("Last-Event-ID", "1")).andReturn();
+            awaitBody(unknown, "event:reset");
+        }
+
+        private String awaitBody(MvcResult result, String expected) throws Exception {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            String body = result.getResponse().getContentAsString();
+            while (!body.contains(expected) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+                body = result.getResponse().getContentAsString();
+            }
+            assertTrue(body.contains(expected), "missing " + expected + " in " + body);
+            return body;
+        }
+    }
+
+    @Nested
+    @DisplayName("Correlation IDs")
+    class CorrelationIds {
+
+        @Test
+        @DisplayName("Should echo the caller's correlation ID")
+        void should_echo_the_callers_correlation_id() throws Exception {
+            Mockito.when(taskService.getTaskById(1L))
+                    .thenReturn(new TaskResponse(1L, "Title", "Description", LocalDate.now(), 0L));
+
+            mockMvc.perform(get("/tasks/1").header(CorrelationIdFilter.HEADER, "abc-123"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(CorrelationIdFilter.HEADER, "abc-123"));
+        }
+
+        @Test
+        @DisplayName("Should generate a correlation ID when the caller's is missing or malformed")
+        void should_generate_a_correlation_id_when_missing_or_malformed() throws Exception {
+            Mockito.when(taskService.getTaskById(1L))
+                    .thenReturn(new TaskResponse(1L, "Title", "Description", LocalDate.now(), 0L));
+
+            mockMvc.perform(get("/tasks/1").header(CorrelationIdFilter.HEADER, "bad id\r\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(CorrelationIdFilter.HEADER, matchesPattern("[0-9a-f-]{36}")));
+        }
+
+        @Test
+        @DisplayName("Should keep the generated correlation ID through the async dispatch of a stream")
+        void should_keep_correlation_id_through_async_dispatch() throws Exception {
+            Mockito.doAnswer(invocation -> {
+                Consumer<TaskResponse> consumer = invocation.getArgument(0);
+                consumer.accept(new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.of(2025, 5, 15), 0L));
+                return null;
+            }).when(taskService).streamAllTasks(Mockito.any());
+
+            MvcResult result = mockMvc.perform(get("/tasks/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String sent = result.getResponse().getHeader(CorrelationIdFilter.HEADER);
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(CorrelationIdFilter.HEADER, sent));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.taskService.task;
+
+import com.taskService.task.cache.TaskCache;
+import com.taskService.task.cache.TaskCacheProperties;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.event.TaskChangeEvent;
+import com.taskService.task.exception.TaskDeletionException;
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.exception.TaskPreconditionFailedException;
+import com.taskService.task.metrics.TaskDatabaseMetricsAspect;
+import com.taskService.task.repository.TaskRepository;
+import com.taskService.task.service.TaskDatabaseHelper;
+import com.taskService.task.store.JpaTaskStore;
+import com.taskService.task.store.TaskIdAllocator;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskDatabaseHelperTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TaskIdAllocator taskIdAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private JpaTaskStore taskStore;
+    private TaskCacheProperties cacheProperties;
+    private TaskCache taskCache;
+    private TaskDatabaseHelper taskDatabaseHelper;
+    private TaskEntity entity;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskStore = new JpaTaskStore(taskRepository, jdbcTemplate, taskIdAllocator);
+        cacheProperties = new TaskCacheProperties();
+        taskCache = new TaskCache(cacheProperties);
+        taskDatabaseHelper = new TaskDatabaseHelper(taskStore, taskCache, eventPublisher);
+        entity = new TaskEntity(1L, "Test Title", "Test Description", LocalDate.now(), 0L);
+    }
+
+    @Nested
+    class FindTaskById {
+
+        @Test
+        @DisplayName("Should serve repeated reads of a task from the cache")
+        void should_serve_repeated_reads_from_cache() throws Exception {
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+            taskDatabaseHelper.findTaskById(1L);
+            TaskEntity result = taskDatabaseHelper.findTaskById(1L);
+
+            assertEquals("Test Title", result.getTitle());
+            verify(taskRepository, times(1)).findById(1L);
+            assertEquals(1, taskCache.stats().hitCount());
+            assertEquals(1, taskCache.stats().missCount());
+        }
+
+        @Test
+        @DisplayName("Should query the database again for a missing task when negative caching is off")
+        void should_not_cache_missing_task_by_default() {
+            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.findTaskById(999L));
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.findTaskById(999L));
+
+            verify(taskRepository, times(2)).findById(999L);
+        }
+
+        @Test
+        @DisplayName("Should cache a missing task when negative caching is on")
+        void should_cache_missing_task_when_negative_caching_enabled() {
+            cacheProperties.setNegativeCaching(true);
+            taskCache = new TaskCache(cacheProperties);
+            taskDatabaseHelper = new TaskDatabaseHelper(taskStore, taskCache, eventPublisher);
+            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.findTaskById(999L));
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.findTaskById(999L));
+
+            verify(taskRepository, times(1)).findById(999L);
+        }
+    }
+
+    @Nested
+    class CacheInvalidation {
+
+        @Test
+        @DisplayName("Should refresh the cached task after an update")
+        void should_refresh_cached_task_after_update() throws Exception {
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(entity));
+            when(taskRepository.updateTaskIfVersion(eq(1L), eq(0L), any(), any(), any())).thenReturn(1);
+            taskDatabaseHelper.findTaskById(1L);
+
+            taskDatabaseHelper.updateTask(1L, new TaskEntity(null, "Updated", "Updated Desc", LocalDate.now(), null), 0L);
+            TaskEntity result = taskDatabaseHelper.findTaskById(1L);
+
+            assertEquals("Updated", result.getTitle());
+            verify(taskRepository, times(1)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should evict the cached task after a delete")
+        void should_evict_cached_task_after_delete() throws Exception {
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(entity)).thenReturn(Optional.empty());
+            when(taskRepository.deleteTask(1L)).thenReturn(1);
+            taskDatabaseHelper.findTaskById(1L);
+
+            taskDatabaseHelper.deleteTaskById(1L);
+
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.findTaskById(1L));
+        }
+    }
+
+    @Nested
+    class ChangeEvents {
+
+        @Test
+        @DisplayName("Should publish an event for each committed write")
+        void should_publish_event_for_each_write() throws Exception {
+            when(taskRepository.save(any())).thenReturn(entity);
+            when(taskRepository.updateTaskIfVersion(eq(1L), eq(0L), any(), any(), any())).thenReturn(1);
+            when(taskRepository.deleteTask(1L)).thenReturn(1);
+
+            taskDatabaseHelper.saveTask(entity);
+            taskDatabaseHelper.updateTask(1L, new TaskEntity(null, "Updated", "Updated Desc", LocalDate.now(), null), 0L);
+            taskDatabaseHelper.deleteTaskById(1L);
+
+            ArgumentCaptor<TaskChangeEvent> events = ArgumentCaptor.forClass(TaskChangeEvent.class);
+            verify(eventPublisher, times(3)).publishEvent(events.capture());
+            assertEquals(List.of(TaskChangeEvent.Type.CREATED, TaskChangeEvent.Type.UPDATED, TaskChangeEvent.Type.DELETED),
+                    events.getAllValues().stream().map(TaskChangeEvent::type).toList());
+            assertEquals(1L, events.getAllValues().get(1).task().getVersion());
+            assertNull(events.getAllValues().get(2).task());
+        }
+
+        @Test
+        @DisplayName("Should not publish an event when nothing was written")
+        void should_not_publish_event_when_nothing_written() {
+            when(taskRepository.deleteTask(1L)).thenReturn(0);
+
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.deleteTaskById(1L));
+
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Nested
+    class SingleStatementWrites {
+
+        @Test
+        @DisplayName("Should update a task without reading it first")
+        void should_update_task_without_reading_it_first() throws Exception {
+            when(taskRepository.updateTask(1L, "Updated", "Updated Desc", entity.getDueDate())).thenReturn(1);
+            when(taskRepository.findVersion(1L)).thenReturn(5L);
+
+            TaskEntity result = taskDatabaseHelper.updateTask(1L,
+                    new TaskEntity(null, "Updated", "Updated Desc", entity.getDueDate(), null), null);
+
+            assertEquals(1L, result.getId());
+            assertEquals("Updated", result.getTitle());
+            assertEquals(5L, result.getVersion());
+            verify(taskRepository, never()).findById(any());
+            verify(taskRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should throw not found when no row was updated")
+        void should_throw_not_found_when_no_row_was_updated() {
+            when(taskRepository.updateTask(eq(999L), any(), any(), any())).thenReturn(0);
+
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.updateTask(999L, entity, null));
+        }
+
+        @Test
+        @DisplayName("Should fail the precondition when the task is at another version")
+        void should_fail_precondition_when_task_is_at_another_version() {
+            when(taskRepository.updateTaskIfVersion(eq(1L), eq(3L), any(), any(), any())).thenReturn(0);
+            when(taskRepository.existsById(1L)).thenReturn(true);
+
+            assertThrows(TaskPreconditionFailedException.class, () -> taskDatabaseHelper.updateTask(1L, entity, 3L));
+        }
+
+        @Test
+        @DisplayName("Should return the next version after a conditional update")
+        void should_return_next_version_after_conditional_update() throws Exception {
+            when(taskRepository.updateTaskIfVersion(eq(1L), eq(3L), any(), any(), any())).thenReturn(1);
+
+            TaskEntity result = taskDatabaseHelper.updateTask(1L, entity, 3L);
+
+            assertEquals(4L, result.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should throw not found when no row was deleted")
+        void should_throw_not_found_when_no_row_was_deleted() {
+            when(taskRepository.deleteTask(999L)).thenReturn(0);
+
+            assertThrows(TaskNotFoundException.class, () -> taskDatabaseHelper.deleteTaskById(999L));
+            verify(taskRepository, never()).existsById(any());
+        }
+    }
+
+    @Nested
+    class PartialUpdates {
+
+        @Test
+        @DisplayName("Should change only the fields present in the patch")
+        void should_change_only_fields_present_in_patch() throws Exception {
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(entity));
+            LocalDate newDueDate = entity.getDueDate().plusDays(7);
+
+            TaskEntity result = taskDatabaseHelper.patchTask(1L, TaskEntity.builder().dueDate(newDueDate).build(), 0L);
+
+            assertEquals("Test Title", result.getTitle());
+            assertEquals("Test Description", result.getDescription());
+            assertEquals(newDueDate, result.getDueDate());
+            verify(taskRepository).flush();
+            assertEquals(newDueDate, taskDatabaseHelper.findTaskById(1L).getDueDate());
+        }
+
+        @Test
+        @DisplayName("Should fail the precondition when the task is at another version")
+        void should_fail_precondition_when_task_is_at_another_version() {
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+            assertThrows(TaskPreconditionFailedException.class,
+                    () -> taskDatabaseHelper.patchTask(1L, TaskEntity.builder().title("New").build(), 3L));
+            verify(taskRepository, never()).flush();
+            assertEquals("Test Title", entity.getTitle());
+        }
+
+        @Test
+        @DisplayName("Should throw not found when the task does not exist")
+        void should_throw_not_found_when_task_does_not_exist() {
+            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThrows(TaskNotFoundException.class,
+                    () -> taskDatabaseHelper.patchTask(999L, TaskEntity.builder().title("New").build(), null));
+        }
+    }
+
+    @Nested
+    class Metrics {
+
+        private SimpleMeterRegistry meterRegistry;
+        private TaskDatabaseHelper timedHelper;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(taskDatabaseHelper);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAspect(new TaskDatabaseMetricsAspect(meterRegistry));
+            timedHelper = proxyFactory.getProxy();
+        }
+
+        private long count(String operation, String outcome) {
+            Timer timer = meterRegistry.find(TaskDatabaseMetricsAspect.TIMER_NAME)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .timer();
+            return timer == null ? 0 : timer.count();
+        }
+
+        @Test
+        @DisplayName("Should time database operations by operation and outcome")
+        void should_time_operations_by_operation_and_outcome() throws Exception {
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(entity));
+            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(taskRepository.deleteTask(1L)).thenThrow(new IllegalStateException("connection lost"));
+
+            timedHelper.findTaskById(1L);
+            assertThrows(TaskNotFoundException.class, () -> timedHelper.findTaskById(999L));
+            assertThrows(TaskDeletionException.class, () -> timedHelper.deleteTaskById(1L));
+
+            assertEquals(1, count("findTaskById", "success"));
+            assertEquals(1, count("findTaskById", "not-found"));
+            assertEquals(1, count("deleteTaskById", "error"));
+            assertEquals(1, meterRegistry.get(TaskDatabaseMetricsAspect.TIMER_NAME)
+                    .tag("exception", "TaskDeletionException").timer().count());
+        }
+    }
+}
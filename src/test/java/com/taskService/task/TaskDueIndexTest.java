@@ -0,0 +1,192 @@
+package com.taskService.task;
+
+import com.taskService.task.dto.TaskStatsResponse;
+import com.taskService.task.due.TaskDueIndex;
+import com.taskService.task.due.TaskDueProperties;
+import com.taskService.task.due.TaskDueScheduler;
+import com.taskService.task.due.TaskDueStatistics;
+import com.taskService.task.event.TaskDueEvent;
+import com.taskService.task.service.TaskDatabaseHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskDueIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 5, 15);
+
+    private TaskDueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskDueIndex();
+        index.put(5L, DATE);
+        index.put(2L, DATE);
+        index.put(9L, DATE.minusDays(3));
+        index.put(7L, DATE.plusDays(1));
+        index.put(4L, DATE.minusDays(1));
+    }
+
+    @Nested
+    class Queries {
+
+        @Test
+        @DisplayName("Should page through the tasks due on a date by ID")
+        void should_page_tasks_due_on_date() {
+            index.put(3L, DATE);
+
+            assertEquals(List.of(2L, 3L), index.dueOn(DATE, null, 2));
+            assertEquals(List.of(5L), index.dueOn(DATE, 3L, 2));
+            assertEquals(List.of(), index.dueOn(DATE.plusDays(5), null, 2));
+        }
+
+        @Test
+        @DisplayName("Should page through the tasks due before a date by due date, then ID")
+        void should_page_tasks_due_before_date() {
+            assertEquals(List.of(9L, 4L, 2L), index.dueBefore(DATE.plusDays(1), null, null, 3));
+            assertEquals(List.of(5L), index.dueBefore(DATE.plusDays(1), DATE, 2L, 3));
+            assertEquals(List.of(9L, 4L), index.dueBefore(DATE, null, null, 10));
+        }
+
+        @Test
+        @DisplayName("Should move a task when its due date changes and drop it when it is removed")
+        void should_move_and_remove_tasks() {
+            index.put(9L, DATE);
+            index.put(2L, null);
+            index.remove(4L);
+
+            assertEquals(List.of(5L, 9L), index.dueOn(DATE, null, 10));
+            assertEquals(List.of(), index.dueBefore(DATE, null, null, 10));
+            assertNull(index.dueDate(2L));
+            assertEquals(DATE, index.dueDate(9L));
+        }
+    }
+
+    @Nested
+    class Reminders {
+
+        private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        private TaskDueScheduler scheduler;
+
+        @BeforeEach
+        void setUp() {
+            TaskDueProperties properties = new TaskDueProperties();
+            properties.setZone(ZoneId.of("UTC"));
+            properties.setCheckInterval(Duration.ofHours(1));
+            scheduler = new TaskDueScheduler(properties, index, eventPublisher);
+        }
+
+        @AfterEach
+        void tearDown() {
+            scheduler.close();
+        }
+
+        @Test
+        @DisplayName("Should remind of the tasks due and overdue on every day passed, and nothing else")
+        void should_remind_for_each_day_passed() {
+            index.put(1L, scheduler.today());
+            index.put(6L, scheduler.today().plusDays(1));
+            index.put(8L, scheduler.today().plusDays(2));
+
+            scheduler.advanceTo(scheduler.today().plusDays(2));
+            scheduler.advanceTo(scheduler.today());
+
+            ArgumentCaptor<TaskDueEvent> events = ArgumentCaptor.forClass(TaskDueEvent.class);
+            verify(eventPublisher, times(4)).publishEvent(events.capture());
+            LocalDate today = scheduler.today().minusDays(2);
+            assertEquals(List.of(
+                    new TaskDueEvent(TaskDueEvent.Type.OVERDUE, today, List.of(1L)),
+                    new TaskDueEvent(TaskDueEvent.Type.DUE, today.plusDays(1), List.of(6L)),
+                    new TaskDueEvent(TaskDueEvent.Type.OVERDUE, today.plusDays(1), List.of(6L)),
+                    new TaskDueEvent(TaskDueEvent.Type.DUE, today.plusDays(2), List.of(8L))), events.getAllValues());
+        }
+    }
+
+    @Nested
+    class Statistics {
+
+        private final TaskDatabaseHelper taskDatabaseHelper = mock(TaskDatabaseHelper.class);
+        private final TaskDueScheduler scheduler = mock(TaskDueScheduler.class);
+        private TaskDueStatistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            when(scheduler.today()).thenReturn(DATE);
+            statistics = new TaskDueStatistics(new TaskDueProperties(), taskDatabaseHelper, scheduler);
+            statistics.added(DATE.minusDays(1));
+            statistics.added(DATE);
+            statistics.added(DATE.plusDays(6));
+            statistics.added(DATE.plusDays(7));
+            statistics.added(null);
+        }
+
+        @AfterEach
+        void tearDown() {
+            statistics.close();
+        }
+
+        @Test
+        @DisplayName("Should count tasks as they are added, moved and removed, and as days pass")
+        void should_count_changes_and_passing_days() {
+            assertEquals(new TaskStatsResponse(DATE, 5, 1, 1, 2, 1), statistics.snapshot());
+
+            statistics.moved(null, DATE.minusDays(3));
+            statistics.moved(DATE.plusDays(7), DATE);
+            statistics.removed(DATE.minusDays(1));
+            assertEquals(new TaskStatsResponse(DATE, 4, 1, 2, 3, 0), statistics.snapshot());
+
+            when(scheduler.today()).thenReturn(DATE.plusDays(1));
+            assertEquals(new TaskStatsResponse(DATE.plusDays(1), 4, 3, 0, 1, 0), statistics.snapshot());
+        }
+
+        @Test
+        @DisplayName("Should correct a drift from the database once two checks in a row agree on it")
+        void should_correct_confirmed_drift() throws Exception {
+            Map<LocalDate, Long> actual = new HashMap<>(Map.of(DATE.minusDays(2), 1L, DATE.minusDays(1), 1L,
+                    DATE, 1L, DATE.plusDays(6), 1L, DATE.plusDays(7), 1L));
+            actual.put(null, 1L);
+            when(taskDatabaseHelper.countTasksByDueDate()).thenReturn(actual);
+
+            assertFalse(statistics.reconcile());
+            assertEquals(1, statistics.snapshot().getOverdue());
+            assertTrue(statistics.reconcile());
+            assertEquals(new TaskStatsResponse(DATE, 6, 2, 1, 2, 1), statistics.snapshot());
+            assertFalse(statistics.reconcile());
+        }
+
+        @Test
+        @DisplayName("Should only keep a count for each day tasks are still due on, from today")
+        void should_drop_counts_of_past_and_emptied_days() throws Exception {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            statistics.bindTo(registry);
+            statistics.added(DATE.plusDays(1));
+            statistics.removed(DATE.plusDays(1));
+            assertEquals(4, registry.get("task.stats.dates").gauge().value());
+
+            Map<LocalDate, Long> actual = new HashMap<>(Map.of(DATE.minusDays(1), 1L, DATE, 1L,
+                    DATE.plusDays(6), 1L, DATE.plusDays(7), 1L));
+            actual.put(null, 1L);
+            when(taskDatabaseHelper.countTasksByDueDate()).thenReturn(actual);
+            when(scheduler.today()).thenReturn(DATE.plusDays(1));
+
+            assertFalse(statistics.reconcile());
+            assertEquals(2, registry.get("task.stats.dates").gauge().value());
+            assertEquals(new TaskStatsResponse(DATE.plusDays(1), 5, 2, 0, 2, 1), statistics.snapshot());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskService.task;
+
+import com.taskService.task.event.TaskEventLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventLogTest {
+
+    private final TaskEventLog eventLog = new TaskEventLog(3, 100);
+
+    @Test
+    @DisplayName("Should return the events after the given one, oldest first")
+    void should_return_events_after_given_one() {
+        eventLog.append("created", "a");
+        eventLog.append("updated", "b");
+        eventLog.append("deleted", "c");
+
+        assertEquals(List.of("b", "c"), eventLog.after(100, 10).stream().map(TaskEventLog.Entry::data).toList());
+        assertEquals(List.of("a"), eventLog.after(99, 1).stream().map(TaskEventLog.Entry::data).toList());
+        assertEquals(List.of(), eventLog.after(102, 10));
+        assertEquals(102, eventLog.lastSequence());
+    }
+
+    @Test
+    @DisplayName("Should report a gap once the events after the given one were overwritten")
+    void should_report_gap_once_events_overwritten() {
+        for (int i = 0; i < 5; i++) {
+            eventLog.append("created", Integer.toString(i));
+        }
+
+        assertNull(eventLog.after(99, 10));
+        assertNull(eventLog.after(100, 10));
+        assertEquals(List.of("2", "3", "4"), eventLog.after(101, 10).stream().map(TaskEventLog.Entry::data).toList());
+    }
+
+    @Test
+    @DisplayName("Should treat a sequence number this log never handed out as unknown")
+    void should_treat_foreign_sequence_as_unknown() {
+        eventLog.append("created", "a");
+
+        assertNull(eventLog.after(5, 10));
+        assertNull(eventLog.after(101, 10));
+    }
+}
@@ -0,0 +1,192 @@
+package com.taskService.task;
+
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.dto.TaskSortField;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.repository.TaskRepository;
+import com.taskService.task.repository.TaskSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<TaskEntity> tasks;
+
+    @BeforeEach
+    void setUp() {
+        tasks = taskRepository.saveAllAndFlush(List.of(
+                TaskEntity.builder().title("Release 1").description("d").dueDate(LocalDate.of(2025, 5, 10)).build(),
+                TaskEntity.builder().title("Review").description("d").dueDate(LocalDate.of(2025, 5, 20)).build(),
+                TaskEntity.builder().title("Release 2").description("d").dueDate(LocalDate.of(2025, 5, 20)).build(),
+                TaskEntity.builder().title("Plan").description("d").dueDate(LocalDate.of(2025, 6, 15)).build(),
+                TaskEntity.builder().title("100%_done").description("d").dueDate(LocalDate.of(2025, 7, 1)).build()
+        ));
+    }
+
+    private List<String> titles(TaskQuery query, TaskEntity cursor) {
+        return taskRepository.findResponses(TaskSpecifications.matching(query, cursor),
+                        TaskSpecifications.sortOf(query), query.getLimit())
+                .stream()
+                .map(TaskResponse::getTitle)
+                .toList();
+    }
+
+    @Nested
+    class Filtering {
+
+        @Test
+        @DisplayName("Should only return tasks due within the given range")
+        void should_return_tasks_due_within_range() {
+            TaskQuery query = TaskQuery.builder()
+                    .limit(10)
+                    .dueAfter(LocalDate.of(2025, 5, 10))
+                    .dueBefore(LocalDate.of(2025, 7, 1))
+                    .build();
+
+            assertEquals(List.of("Review", "Release 2", "Plan"), titles(query, null));
+        }
+
+        @Test
+        @DisplayName("Should match the title prefix literally")
+        void should_match_title_prefix_literally() {
+            assertEquals(List.of("Release 1", "Release 2"),
+                    titles(TaskQuery.builder().limit(10).titlePrefix("Rel").build(), null));
+            assertEquals(List.of("100%_done"),
+                    titles(TaskQuery.builder().limit(10).titlePrefix("100%_").build(), null));
+            assertEquals(List.of(),
+                    titles(TaskQuery.builder().limit(10).titlePrefix("1_0").build(), null));
+        }
+    }
+
+    @Nested
+    class KeysetPagination {
+
+        @Test
+        @DisplayName("Should page through tasks sorted by due date descending without gaps or repeats")
+        void should_page_through_tasks_by_due_date_descending() {
+            TaskQuery firstPage = TaskQuery.builder()
+                    .limit(2)
+                    .sortBy(TaskSortField.DUE_DATE)
+                    .direction(Sort.Direction.DESC)
+                    .build();
+            assertEquals(List.of("100%_done", "Plan"), titles(firstPage, null));
+
+            TaskEntity cursor = tasks.get(3);
+            TaskQuery secondPage = firstPage.toBuilder().after(cursor.getId()).build();
+            assertEquals(List.of("Release 2", "Review"), titles(secondPage, cursor));
+
+            TaskQuery thirdPage = firstPage.toBuilder().after(tasks.get(1).getId()).build();
+            assertEquals(List.of("Release 1"), titles(thirdPage, tasks.get(1)));
+        }
+    }
+
+    @Nested
+    class Projections {
+
+        @Test
+        @DisplayName("Should list tasks without loading entities into the persistence context")
+        void should_list_tasks_without_loading_entities() {
+            entityManager.clear();
+
+            List<TaskResponse> page = taskRepository.findResponses(null, Sort.by("id"), 10);
+
+            assertEquals(5, page.size());
+            assertEquals(tasks.get(0).getId(), page.get(0).getId());
+            assertEquals(0L, page.get(0).getVersion());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+
+        @Test
+        @DisplayName("Should stream tasks without loading entities into the persistence context")
+        void should_stream_tasks_without_loading_entities() {
+            entityManager.clear();
+
+            try (Stream<TaskResponse> stream = taskRepository.streamAllResponses()) {
+                assertEquals(tasks.stream().map(TaskEntity::getTitle).toList(),
+                        stream.map(TaskResponse::getTitle).toList());
+            }
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+
+        @Test
+        @DisplayName("Should count tasks per due date, including tasks without one")
+        void should_count_tasks_per_due_date() {
+            taskRepository.saveAndFlush(TaskEntity.builder().title("Someday").description("d").build());
+
+            Map<LocalDate, Long> counts = new HashMap<>();
+            taskRepository.countByDueDate().forEach(row -> counts.put((LocalDate) row[0], (Long) row[1]));
+
+            Map<LocalDate, Long> expected = new HashMap<>(Map.of(LocalDate.of(2025, 5, 10), 1L,
+                    LocalDate.of(2025, 5, 20), 2L, LocalDate.of(2025, 6, 15), 1L, LocalDate.of(2025, 7, 1), 1L));
+            expected.put(null, 1L);
+            assertEquals(expected, counts);
+        }
+    }
+
+    @Nested
+    class SingleStatementWrites {
+
+        @Test
+        @DisplayName("Should bump the version on an unconditional update, so it can be read back")
+        void should_bump_version_on_unconditional_update() {
+            Long id = tasks.get(0).getId();
+
+            taskRepository.updateTask(id, "Release 1.1", "d", LocalDate.of(2025, 5, 11));
+            taskRepository.updateTask(id, "Release 1.2", "d", LocalDate.of(2025, 5, 12));
+
+            assertEquals(2L, taskRepository.findVersion(id));
+            assertNull(taskRepository.findVersion(-1L));
+        }
+    }
+
+    @Nested
+    class QueryPlans {
+
+        private String explain(String sql) {
+            return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+        }
+
+        @Test
+        @DisplayName("Should use the due date index for due date ranges sorted by due date")
+        void should_use_due_date_index_for_due_date_range() {
+            String plan = explain("SELECT * FROM task_entity WHERE due_date >= DATE '2025-05-10' "
+                    + "AND due_date < DATE '2025-06-01' ORDER BY due_date, id FETCH FIRST 100 ROWS ONLY");
+
+            assertThat(plan, containsStringIgnoringCase("idx_task_due_date"));
+        }
+
+        @Test
+        @DisplayName("Should use the title index for title prefix searches")
+        void should_use_title_index_for_title_prefix() {
+            String plan = explain("SELECT * FROM task_entity WHERE title LIKE 'Rel%' ORDER BY title, id");
+
+            assertThat(plan, containsStringIgnoringCase("idx_task_title"));
+        }
+    }
+}
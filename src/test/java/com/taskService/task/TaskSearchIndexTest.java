@@ -0,0 +1,80 @@
+package com.taskService.task;
+
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.search.TaskSearchIndex;
+import com.taskService.task.search.TaskSearchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new TaskSearchIndex(new TaskSearchProperties(), new SimpleMeterRegistry());
+        index.index(1L, "Buy groceries", "Milk, eggs and the quarterly report printout");
+        index.index(2L, "Quarterly report", "Write the finance report");
+        index.index(3L, "Call plumber", "Kitchen sink is leaking");
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void should_rank_title_matches_first() throws Exception {
+        assertEquals(List.of(2L, 1L), index.search("quarterly report", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Should require every word, and support prefixes and pagination")
+    void should_match_all_words_prefixes_and_pages() throws Exception {
+        assertEquals(List.of(3L), index.search("kitchen leak*", 0, 10));
+        assertEquals(List.of(), index.search("kitchen report", 0, 10));
+        assertEquals(List.of(1L), index.search("quarterly report", 1, 10));
+    }
+
+    @Test
+    @DisplayName("Should see updates and removals in the next search")
+    void should_see_updates_and_removals() throws Exception {
+        index.index(TaskEntity.builder().id(3L).title("Call electrician").description("No power").build());
+        index.remove(List.of(2L));
+
+        assertEquals(List.of(), index.search("plumber", 0, 10));
+        assertEquals(List.of(3L), index.search("electrician", 0, 10));
+        assertEquals(List.of(1L), index.search("report", 0, 10));
+    }
+
+    @Test
+    @DisplayName("Should let every writer find its own task while others write and search concurrently")
+    void should_read_own_writes_under_concurrency() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long first = 100 + thread * 1000L;
+                writers.add(executor.submit(() -> {
+                    for (long id = first; id < first + 200; id++) {
+                        index.index(id, "Task zq" + id, "Description");
+                        assertEquals(List.of(id), index.search("zq" + id, 0, 10));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package com.taskService.task;
 
+import com.taskService.task.dto.TaskBatchResult;
+import com.taskService.task.dto.TaskBatchUpdateRequest;
+import com.taskService.task.dto.TaskQuery;
 import com.taskService.task.dto.TaskRequest;
 import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.due.TaskDueIndex;
+import com.taskService.task.due.TaskDueScheduler;
+import com.taskService.task.due.TaskDueStatistics;
 import com.taskService.task.entity.TaskEntity;
 import com.taskService.task.exception.TaskDeletionException;
+import com.taskService.task.exception.TaskNotFoundException;
 import com.taskService.task.exception.TaskRetrievalException;
 import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.exception.TaskWriteFailedException;
+import com.taskService.task.metrics.TaskServiceMetricsAspect;
+import com.taskService.task.search.TaskSearchIndex;
 import com.taskService.task.service.TaskDatabaseHelper;
 import com.taskService.task.service.TaskMapper;
 import com.taskService.task.service.TaskService;
+import com.taskService.task.service.TaskSingleFlight;
+import com.taskService.task.writebehind.TaskWriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +49,24 @@ class TaskServiceTest {
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private TaskWriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Spy
+    private TaskSingleFlight taskSingleFlight = new TaskSingleFlight();
+
+    @Mock
+    private TaskDueIndex taskDueIndex;
+
+    @Mock
+    private TaskDueScheduler taskDueScheduler;
+
+    @Mock
+    private TaskDueStatistics taskDueStatistics;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -44,7 +80,7 @@ class TaskServiceTest {
         MockitoAnnotations.openMocks(this);
         request = new TaskRequest("Test Title", "Test Description", LocalDate.now());
         entity = new TaskEntity();
-        response = new TaskResponse(1L, "Test Title", "Test Description", LocalDate.now());
+        response = new TaskResponse(1L, "Test Title", "Test Description", LocalDate.now(), 0L);
     }
 
     @Nested
@@ -65,13 +101,10 @@ class TaskServiceTest {
         @Test
         @DisplayName("Should successfully fetch all the records from DB")
         void should_return_all_tasks() throws TaskRetrievalException {
-            List<TaskEntity> entities = List.of(entity);
-            List<TaskResponse> responses = List.of(response);
-
-            when(taskDatabaseHelper.findAllTasks()).thenReturn(entities);
-            when(taskMapper.toResponseList(entities)).thenReturn(responses);
+            TaskQuery query = TaskQuery.builder().limit(100).build();
+            when(taskDatabaseHelper.findTasks(query)).thenReturn(List.of(response));
 
-            List<TaskResponse> result = taskService.getAllTasks();
+            List<TaskResponse> result = taskService.getTasks(query);
 
             assertEquals(1, result.size());
             assertEquals("Test Title", result.get(0).getTitle());
@@ -93,6 +126,23 @@ class TaskServiceTest {
         }
     }
 
+    @Nested
+    class GetOverdueTasks {
+
+        @Test
+        @DisplayName("Should page overdue tasks from the due date index, continuing after the given task")
+        void should_return_overdue_tasks_from_index() throws TaskRetrievalException {
+            LocalDate today = LocalDate.of(2025, 5, 15);
+            when(taskDueScheduler.today()).thenReturn(today);
+            when(taskDueIndex.dueDate(7L)).thenReturn(today.minusDays(2));
+            when(taskDueIndex.dueBefore(today, today.minusDays(2), 7L, 10)).thenReturn(List.of(1L));
+            when(taskDatabaseHelper.findTasksByIds(List.of(1L))).thenReturn(List.of(response));
+
+            assertEquals(List.of(response), taskService.getOverdueTasks(7L, 10));
+            assertThrows(TaskNotFoundException.class, () -> taskService.getOverdueTasks(8L, 10));
+        }
+    }
+
     @Nested
     class UpdateTask {
 
@@ -100,13 +150,82 @@ class TaskServiceTest {
         @DisplayName("Should successfully update data in DB and return appropriate result")
         void should_update_task_successfully() throws TaskSaveException {
             when(taskMapper.toEntity(request)).thenReturn(entity);
-            when(taskDatabaseHelper.updateTask(1L, entity)).thenReturn(entity);
+            when(taskDatabaseHelper.updateTask(1L, entity, null)).thenReturn(entity);
             when(taskMapper.toResponse(entity)).thenReturn(response);
 
-            TaskResponse result = taskService.updateTask(1L, request);
+            TaskResponse result = taskService.updateTask(1L, request, null);
 
             assertEquals("Test Title", result.getTitle());
         }
+
+        @Test
+        @DisplayName("Should wait for a task accepted for write-behind, and refuse to change one that was given up on")
+        void should_wait_for_write_behind_before_update() throws TaskSaveException {
+            when(taskMapper.toEntity(request)).thenReturn(entity);
+            doThrow(new TaskWriteFailedException(2L)).when(writeBehindQueue).checkNotFailed(2L);
+
+            assertThrows(TaskWriteFailedException.class, () -> taskService.updateTask(2L, request, null));
+
+            InOrder inOrder = inOrder(writeBehindQueue);
+            inOrder.verify(writeBehindQueue).awaitWritten(2L);
+            inOrder.verify(writeBehindQueue).checkNotFailed(2L);
+            verify(taskDatabaseHelper, never()).updateTask(any(), any(), any());
+        }
+    }
+
+    @Nested
+    class BatchTasks {
+
+        @Test
+        @DisplayName("Should report tasks missing from a batch update as not found")
+        void should_report_missing_tasks_of_batch_update_as_not_found() throws TaskSaveException {
+            TaskEntity updated = new TaskEntity(1L, "Test Title", "Test Description", LocalDate.now(), 0L);
+            when(taskMapper.toEntity(request)).thenReturn(entity);
+            when(taskDatabaseHelper.updateTasks(anyMap())).thenReturn(Map.of(1L, updated));
+            when(taskMapper.toResponse(updated)).thenReturn(response);
+
+            List<TaskBatchResult> results = taskService.updateTasks(List.of(
+                    new TaskBatchUpdateRequest(1L, request),
+                    new TaskBatchUpdateRequest(2L, request)));
+
+            assertEquals(200, results.get(0).getStatus());
+            assertEquals("Test Title", results.get(0).getTask().getTitle());
+            assertEquals(404, results.get(1).getStatus());
+            assertEquals(2L, results.get(1).getId());
+        }
+
+        @Test
+        @DisplayName("Should apply only the first update of an ID repeated in a batch and report the others")
+        void should_report_repeated_ids_of_batch_update() throws TaskSaveException {
+            TaskRequest second = new TaskRequest("Second Title", "Second Description", LocalDate.now());
+            TaskEntity secondEntity = new TaskEntity(null, "Second Title", "Second Description", LocalDate.now(), null);
+            TaskEntity updated = new TaskEntity(1L, "Test Title", "Test Description", LocalDate.now(), 1L);
+            when(taskMapper.toEntity(request)).thenReturn(entity);
+            when(taskMapper.toEntity(second)).thenReturn(secondEntity);
+            when(taskDatabaseHelper.updateTasks(Map.of(1L, entity))).thenReturn(Map.of(1L, updated));
+            when(taskMapper.toResponse(updated)).thenReturn(response);
+
+            List<TaskBatchResult> results = taskService.updateTasks(List.of(
+                    new TaskBatchUpdateRequest(1L, request),
+                    new TaskBatchUpdateRequest(1L, second)));
+
+            assertEquals(200, results.get(0).getStatus());
+            assertEquals("Test Title", results.get(0).getTask().getTitle());
+            assertEquals(400, results.get(1).getStatus());
+            assertEquals(1L, results.get(1).getId());
+            assertNull(results.get(1).getTask());
+        }
+
+        @Test
+        @DisplayName("Should delete an ID repeated in a batch once and report the other occurrences")
+        void should_report_repeated_ids_of_batch_delete() throws TaskDeletionException {
+            when(taskDatabaseHelper.deleteTasks(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+
+            List<TaskBatchResult> results = taskService.deleteTasks(List.of(1L, 2L, 1L, 2L));
+
+            assertEquals(List.of(204, 404, 400, 400), results.stream().map(TaskBatchResult::getStatus).toList());
+            assertEquals(List.of(1L, 2L, 1L, 2L), results.stream().map(TaskBatchResult::getId).toList());
+        }
     }
 
     @Nested
@@ -128,5 +247,28 @@ class TaskServiceTest {
             assertThrows(TaskDeletionException.class, () -> taskService.deleteTask(1L));
         }
     }
+
+    @Nested
+    class Metrics {
+
+        @Test
+        @DisplayName("Should time service operations by operation and outcome")
+        void should_time_operations_by_operation_and_outcome() throws Exception {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(taskService);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAspect(new TaskServiceMetricsAspect(meterRegistry));
+            TaskService timedService = proxyFactory.getProxy();
+            doThrow(new TaskDeletionException("Failed")).when(taskDatabaseHelper).deleteTaskById(1L);
+
+            timedService.getTasks(TaskQuery.builder().limit(100).build());
+            assertThrows(TaskDeletionException.class, () -> timedService.deleteTask(1L));
+
+            assertEquals(1, meterRegistry.get(TaskServiceMetricsAspect.TIMER_NAME)
+                    .tag("operation", "getTasks").tag("outcome", "success").timer().count());
+            assertEquals(1, meterRegistry.get(TaskServiceMetricsAspect.TIMER_NAME)
+                    .tag("operation", "deleteTask").tag("exception", "TaskDeletionException").timer().count());
+        }
+    }
 }
 
@@ -0,0 +1,106 @@
+package com.taskService.task;
+
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.exception.TaskNotFoundException;
+import com.taskService.task.service.TaskSingleFlight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final TaskSingleFlight singleFlight = new TaskSingleFlight();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    @DisplayName("Should let concurrent callers for the same ID share one lookup and its result")
+    void should_share_one_lookup_between_concurrent_callers() throws Exception {
+        TaskResponse task = new TaskResponse(1L, "Title", "Description", LocalDate.now(), 0L);
+
+        List<Future<TaskResponse>> results = callConcurrently(() -> {
+            lookups.incrementAndGet();
+            awaitRelease();
+            return task;
+        });
+
+        assertEquals(1, lookups.get());
+        assertEquals(CALLERS - 1, singleFlight.coalescedCount());
+        for (Future<TaskResponse> result : results) {
+            assertSame(task, result.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand the lookup's exception to every waiting caller, and not remember it")
+    void should_share_exception_and_forget_finished_lookup() throws Exception {
+        List<Future<TaskResponse>> results = callConcurrently(() -> {
+            lookups.incrementAndGet();
+            awaitRelease();
+            throw new TaskNotFoundException(1L);
+        });
+
+        for (Future<TaskResponse> result : results) {
+            Exception e = assertThrows(Exception.class, result::get);
+            assertInstanceOf(TaskNotFoundException.class, e.getCause());
+        }
+        singleFlight.get(1L, () -> {
+            lookups.incrementAndGet();
+            return null;
+        });
+        assertEquals(2, lookups.get());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts {@value #CALLERS} callers for task 1, releases the lookup once all but the first are waiting on it,
+     * and returns their outcomes.
+     */
+    private List<Future<TaskResponse>> callConcurrently(TaskSingleFlight.Lookup lookup) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<TaskResponse>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.get(1L, lookup)));
+            while (lookups.get() == 0) {
+                Thread.onSpinWait();
+            }
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.get(1L, lookup)));
+            }
+            while (singleFlight.coalescedCount() < CALLERS - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<TaskResponse> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                } catch (Exception ignored) {
+                    // checked by the caller
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
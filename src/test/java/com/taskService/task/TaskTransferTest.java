@@ -0,0 +1,181 @@
+package com.taskService.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskService.task.dto.TaskImportError;
+import com.taskService.task.dto.TaskImportResult;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.service.TaskDatabaseHelper;
+import com.taskService.task.service.TaskMapper;
+import com.taskService.task.service.TaskService;
+import com.taskService.task.store.TaskStore;
+import com.taskService.task.transfer.TaskExporter;
+import com.taskService.task.transfer.TaskImporter;
+import com.taskService.task.transfer.TaskTransferFormat;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskTransferTest {
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private TaskDatabaseHelper taskDatabaseHelper;
+
+    @Mock
+    private TaskService taskService;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<List<TaskEntity>> batches = new ArrayList<>();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ValidatorFactory validatorFactory;
+    private TaskImporter importer;
+    private TaskExporter exporter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(taskStore.nextId()).thenAnswer(invocation -> ids.incrementAndGet());
+        doAnswer(invocation -> batches.add(invocation.getArgument(0))).when(taskDatabaseHelper).insertTasks(anyList());
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importer = new TaskImporter(taskStore, taskDatabaseHelper, new TaskMapper(), validatorFactory.getValidator(),
+                objectMapper);
+        exporter = new TaskExporter(taskService, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Nested
+    @DisplayName("Import")
+    class Import {
+
+        @Test
+        @DisplayName("Should create valid lines in batches and report invalid ones by line number")
+        void should_import_valid_lines_and_report_invalid_ones() throws Exception {
+            StringBuilder body = new StringBuilder();
+            for (int i = 1; i <= 2500; i++) {
+                body.append("{\"title\":\"Task ").append(i).append("\",\"description\":\"Desc\",\"dueDate\":\"2025-05-15\"}\n");
+            }
+            body.append("{\"title\":\"No description\",\"dueDate\":\"2025-05-15\"}\r\n")
+                    .append("\n")
+                    .append("{\"title\":\n")
+                    .append("{\"title\":\"").append("x".repeat(10_000)).append("\"}\n")
+                    .append("{\"title\":\"Last\",\"description\":\"Desc\",\"dueDate\":\"2025-05-16\",\"id\":7}");
+
+            TaskImportResult result = importer.importTasks(TaskTransferFormat.NDJSON, body(body.toString()));
+
+            assertEquals(2501, result.getImported());
+            assertEquals(3, result.getRejected());
+            assertEquals(List.of(1000, 1000, 501), batches.stream().map(List::size).toList());
+            assertEquals(List.of(2501L, 2503L, 2504L), result.getErrors().stream().map(TaskImportError::getLine).toList());
+            assertEquals("description: description is mandatory", result.getErrors().get(0).getError());
+            assertEquals("longer than 8192 characters", result.getErrors().get(2).getError());
+            TaskEntity last = batches.get(2).get(500);
+            assertEquals(2501L, last.getId());
+            assertEquals("Last", last.getTitle());
+            assertEquals(0L, last.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should reject a CSV body without a required column before creating anything")
+        void should_reject_csv_without_required_column() throws Exception {
+            TaskImportResult result = importer.importTasks(TaskTransferFormat.CSV,
+                    body("title,description\nTask 1,Desc 1\n"));
+
+            assertEquals(0, result.getImported());
+            assertEquals(List.of(new TaskImportError(1, "missing column: dueDate")), result.getErrors());
+            verify(taskDatabaseHelper, never()).insertTasks(anyList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should import a CSV export back unchanged, including quoted fields over several lines")
+    void should_round_trip_tasks_through_csv() throws Exception {
+        List<TaskResponse> tasks = List.of(
+                new TaskResponse(1L, "Task, with comma", "Say \"hi\"\r\nthen leave", LocalDate.of(2025, 5, 15), 3L),
+                new TaskResponse(2L, "Plain", "Desc", LocalDate.of(2025, 5, 16), 0L));
+        doAnswer(invocation -> {
+            tasks.forEach(invocation.<Consumer<TaskResponse>>getArgument(0));
+            return null;
+        }).when(taskService).streamAllTasks(any());
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        exporter.export(TaskTransferFormat.CSV, exported);
+
+        TaskImportResult result = importer.importTasks(TaskTransferFormat.CSV,
+                new ByteArrayInputStream(exported.toByteArray()));
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getRejected());
+        List<TaskEntity> imported = batches.get(0);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getTitle(), imported.get(i).getTitle());
+            assertEquals(tasks.get(i).getDescription().replace("\r\n", "\n"), imported.get(i).getDescription());
+            assertEquals(tasks.get(i).getDueDate(), imported.get(i).getDueDate());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail the export with the write error when the client goes away")
+    void should_fail_export_with_write_error() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TaskResponse>>getArgument(0)
+                    .accept(new TaskResponse(1L, "Title", "Desc", LocalDate.of(2025, 5, 15), 0L));
+            return null;
+        }).when(taskService).streamAllTasks(any());
+        IOException aborted = new EOFException("client went away");
+        OutputStream gone = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw aborted;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw aborted;
+            }
+        };
+
+        for (TaskTransferFormat format : TaskTransferFormat.values()) {
+            assertSame(aborted, assertThrows(IOException.class, () -> exporter.export(format, gone)));
+        }
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
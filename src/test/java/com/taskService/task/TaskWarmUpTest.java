@@ -0,0 +1,66 @@
+package com.taskService.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskService.task.dto.TaskQuery;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.exception.TaskRetrievalException;
+import com.taskService.task.service.TaskService;
+import com.taskService.task.startup.TaskWarmUp;
+import com.taskService.task.startup.TaskWarmUpProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaskWarmUpTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskWarmUpProperties properties;
+    private TaskWarmUp taskWarmUp;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new TaskWarmUpProperties();
+        properties.setPreloadCount(2);
+        properties.setIterations(10);
+        taskWarmUp = new TaskWarmUp(taskService, new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+    }
+
+    @Test
+    @DisplayName("Should preload the tasks due soonest and then exercise the read paths")
+    void should_preload_hot_tasks_and_exercise_read_paths() throws Exception {
+        List<TaskResponse> dueSoon = List.of(
+                new TaskResponse(1L, "Task 1", "Desc 1", LocalDate.now(), 0L),
+                new TaskResponse(2L, "Task 2", "Desc 2", LocalDate.now().plusDays(1), 0L),
+                new TaskResponse(3L, "Task 3", "Desc 3", LocalDate.now().plusDays(2), 0L));
+        when(taskService.getTasks(any(TaskQuery.class))).thenReturn(dueSoon);
+
+        taskWarmUp.run(null);
+
+        // 2 preloaded, then one lookup per iteration
+        verify(taskService, times(2 + 10)).getTaskById(anyLong());
+        verify(taskService, never()).getTaskById(3L);
+        verify(taskService, times(1 + 10)).getTasks(any(TaskQuery.class));
+    }
+
+    @Test
+    @DisplayName("Should not keep the application from starting when the warm-up fails")
+    void should_not_fail_startup_when_warm_up_fails() throws Exception {
+        when(taskService.getTasks(any(TaskQuery.class))).thenThrow(new TaskRetrievalException("boom", null));
+
+        assertDoesNotThrow(() -> taskWarmUp.run(null));
+    }
+}
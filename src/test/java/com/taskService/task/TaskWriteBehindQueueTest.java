@@ -0,0 +1,191 @@
+package com.taskService.task;
+
+import com.taskService.task.cache.TaskCache;
+import com.taskService.task.cache.TaskCacheProperties;
+import com.taskService.task.dto.TaskResponse;
+import com.taskService.task.entity.TaskEntity;
+import com.taskService.task.exception.TaskNotYetWrittenException;
+import com.taskService.task.exception.TaskQueueFullException;
+import com.taskService.task.exception.TaskSaveException;
+import com.taskService.task.exception.TaskWriteFailedException;
+import com.taskService.task.service.TaskDatabaseHelper;
+import com.taskService.task.service.TaskMapper;
+import com.taskService.task.service.TaskService;
+import com.taskService.task.service.TaskSingleFlight;
+import com.taskService.task.store.TaskStore;
+import com.taskService.task.writebehind.TaskWriteBehindProperties;
+import com.taskService.task.writebehind.TaskWriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TaskWriteBehindQueueTest {
+
+    @Mock
+    private TaskDatabaseHelper taskDatabaseHelper;
+
+    @Mock
+    private TaskStore taskStore;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final CountDownLatch firstInsertStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseInserts = new CountDownLatch(1);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private TaskWriteBehindProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(taskStore.nextId()).thenAnswer(invocation -> ids.incrementAndGet());
+        // the first insert holds the writer until released, so later submits pile up behind it
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<List<TaskEntity>>getArgument(0).size());
+            firstInsertStarted.countDown();
+            releaseInserts.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(taskDatabaseHelper).insertTasks(anyList());
+        properties = new TaskWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(10);
+        properties.setBatchSize(3);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new TaskWriteBehindQueue(properties, taskDatabaseHelper, taskStore, meterRegistry);
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseInserts.countDown();
+        queue.stop();
+    }
+
+    @Test
+    @DisplayName("Should write tasks that queue up while a write is in progress together, and drain them on stop")
+    void should_group_queued_tasks_into_batches_and_drain_on_stop() throws Exception {
+        queue.submit(task());
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 6; i++) {
+            queue.submit(task());
+        }
+
+        releaseInserts.countDown();
+        queue.stop();
+
+        assertEquals(List.of(1, 3, 3), batchSizes);
+        assertEquals(3, meterRegistry.get("task.write.behind.batch.size").summary().count());
+        assertEquals(0, meterRegistry.get("task.write.behind.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should make an accepted task readable by ID until it is written")
+    void should_keep_accepted_task_until_written() throws Exception {
+        TaskEntity accepted = queue.submit(task());
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1L, accepted.getId());
+        assertEquals(0L, accepted.getVersion());
+        assertEquals(Optional.of(accepted), queue.findPending(1L));
+
+        releaseInserts.countDown();
+        queue.awaitWritten(1L);
+        assertEquals(Optional.empty(), queue.findPending(1L));
+    }
+
+    @Test
+    @DisplayName("Should serve an accepted task by ID even when the task cache cannot hold it")
+    void should_serve_accepted_task_that_cache_cannot_hold() throws Exception {
+        TaskCacheProperties cacheProperties = new TaskCacheProperties();
+        cacheProperties.setMaximumSize(0);
+        cacheProperties.setNegativeCaching(true);
+        TaskDatabaseHelper readHelper = new TaskDatabaseHelper(taskStore, new TaskCache(cacheProperties), event -> { });
+        TaskService taskService = new TaskService(readHelper, new TaskMapper(), queue, null, new TaskSingleFlight(),
+                null, null, null);
+        TaskEntity accepted = queue.submit(task());
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+
+        TaskResponse response = taskService.getTaskById(accepted.getId());
+
+        assertEquals(accepted.getId(), response.getId());
+        assertEquals("Title", response.getTitle());
+        verify(taskStore, never()).findById(accepted.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a task when the queue stays full, and after shutdown")
+    void should_reject_when_full_or_stopped() throws Exception {
+        properties.setCapacity(1);
+        queue.stop();
+        queue = new TaskWriteBehindQueue(properties, taskDatabaseHelper, taskStore, meterRegistry);
+        queue.start();
+        queue.submit(task());
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+        queue.submit(task());
+
+        assertThrows(TaskQueueFullException.class, () -> queue.submit(task()));
+
+        releaseInserts.countDown();
+        queue.stop();
+        assertThrows(TaskQueueFullException.class, () -> queue.submit(task()));
+        assertEquals(2, meterRegistry.get("task.write.behind.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should give up on a batch after the maximum attempts and report its tasks as failed")
+    void should_report_batch_given_up_after_max_attempts() throws Exception {
+        properties.setMaxAttempts(2);
+        doThrow(new TaskSaveException("boom", null)).when(taskDatabaseHelper).insertTasks(anyList());
+
+        TaskEntity accepted = queue.submit(task());
+        queue.awaitWritten(accepted.getId());
+        queue.stop();
+
+        verify(taskDatabaseHelper, times(2)).insertTasks(anyList());
+        assertEquals(1, meterRegistry.get("task.write.behind.failed").counter().count());
+        assertEquals(Optional.empty(), queue.findPending(accepted.getId()));
+        assertThrows(TaskWriteFailedException.class, () -> queue.checkNotFailed(accepted.getId()));
+        assertDoesNotThrow(() -> queue.checkNotFailed(accepted.getId() + 1));
+    }
+
+    @Test
+    @DisplayName("Should let a change to a queued task wait for its insert, and refuse it when the insert takes too long")
+    void should_wait_for_queued_task_before_a_change() throws Exception {
+        properties.setPendingWriteTimeout(Duration.ofMillis(50));
+        TaskEntity accepted = queue.submit(task());
+        assertTrue(firstInsertStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TaskNotYetWrittenException.class, () -> queue.awaitWritten(accepted.getId()));
+
+        properties.setPendingWriteTimeout(Duration.ofSeconds(5));
+        CompletableFuture<Void> change = CompletableFuture.runAsync(() -> queue.awaitWritten(accepted.getId()));
+        Thread.sleep(50);
+        assertFalse(change.isDone());
+        releaseInserts.countDown();
+        change.get(5, TimeUnit.SECONDS);
+        assertDoesNotThrow(() -> queue.awaitWritten(accepted.getId() + 1));
+    }
+
+    private static TaskEntity task() {
+        return TaskEntity.builder().title("Title").description("Description").dueDate(LocalDate.now()).build();
+    }
+}